@@ -35,15 +35,30 @@ import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
 import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
+import net.imagej.overlay.EllipseOverlay;
+import net.imagej.overlay.GeneralPathOverlay;
+import net.imagej.overlay.Overlay;
+import net.imagej.overlay.PolygonOverlay;
+import net.imagej.overlay.RectangleOverlay;
+import net.imglib2.RealLocalizable;
 import net.imglib2.roi.GeneralPathRegionOfInterest;
+import net.imglib2.roi.PolygonRegionOfInterest;
 
 import org.jhotdraw.geom.BezierPath;
+import org.jhotdraw.geom.BezierPath.Node;
 
 /**
  * Utility functions for {@link GeneralPathJHotDrawAdapter}.
@@ -52,66 +67,175 @@ import org.jhotdraw.geom.BezierPath;
  */
 public class BezierPathFunctions {
 
-	public static BezierPath toBezierPath(final PathIterator iterator) {
-		final BezierPath path = new BezierPath();
+	/**
+	 * Receives the segments of a path, one at a time, so that paths can be
+	 * converted between representations without building an intermediate
+	 * {@link GeneralPath}.
+	 * 
+	 * @see #stream(BezierPath, PathSink)
+	 * @see #stream(PathIterator, PathSink)
+	 */
+	public interface PathSink {
+
+		void moveTo(double x, double y);
+
+		void lineTo(double x, double y);
+
+		void quadTo(double x1, double y1, double x2, double y2);
+
+		void cubicTo(double x1, double y1, double x2, double y2, double x3,
+			double y3);
+
+		void close();
+	}
+
+	/** Gets a sink which appends the segments it receives to the given ROI. */
+	public static PathSink sink(final GeneralPathRegionOfInterest roi) {
+		return new PathSink() {
+
+			@Override
+			public void moveTo(final double x, final double y) {
+				roi.moveTo(x, y);
+			}
+
+			@Override
+			public void lineTo(final double x, final double y) {
+				roi.lineTo(x, y);
+			}
+
+			@Override
+			public void quadTo(final double x1, final double y1, final double x2,
+				final double y2)
+			{
+				roi.quadTo(x1, y1, x2, y2);
+			}
+
+			@Override
+			public void cubicTo(final double x1, final double y1, final double x2,
+				final double y2, final double x3, final double y3)
+			{
+				roi.cubicTo(x1, y1, x2, y2, x3, y3);
+			}
+
+			@Override
+			public void close() {
+				roi.close();
+			}
+		};
+	}
+
+	/**
+	 * Gets a sink which appends the segments it receives to the given path.
+	 * Since a {@link BezierPath} holds a single contour, the segments must not
+	 * start more than one subpath.
+	 */
+	public static PathSink sink(final BezierPath path) {
+		return new PathSink() {
+
+			@Override
+			public void moveTo(final double x, final double y) {
+				path.moveTo(x, y);
+			}
+
+			@Override
+			public void lineTo(final double x, final double y) {
+				path.lineTo(x, y);
+			}
+
+			@Override
+			public void quadTo(final double x1, final double y1, final double x2,
+				final double y2)
+			{
+				path.quadTo(x1, y1, x2, y2);
+			}
+
+			@Override
+			public void cubicTo(final double x1, final double y1, final double x2,
+				final double y2, final double x3, final double y3)
+			{
+				path.curveTo(x1, y1, x2, y2, x3, y3);
+			}
+
+			@Override
+			public void close() {
+				path.setClosed(true);
+			}
+		};
+	}
+
+	/**
+	 * Feeds the segments of a {@link BezierPath} to the given sink, straight
+	 * from its nodes. The segments are the same as those of
+	 * {@link BezierPath#toGeneralPath()}, except that an empty path yields none
+	 * and a single node only a {@link PathSink#moveTo}.
+	 */
+	public static void stream(final BezierPath path, final PathSink sink) {
+		final int size = path.size();
+		if (size == 0) return;
+		Node previous = path.get(0);
+		sink.moveTo(previous.x[0], previous.y[0]);
+		for (int i = 1; i < size; i++) {
+			final Node current = path.get(i);
+			segment(previous, current, sink);
+			previous = current;
+		}
+		if (path.isClosed()) {
+			if (size > 1) segment(previous, path.get(0), sink);
+			sink.close();
+		}
+	}
+
+	/** Feeds the segments of a {@link PathIterator} to the given sink. */
+	public static void stream(final PathIterator iterator, final PathSink sink) {
 		final double[] segment = new double[6];
 		for (; !iterator.isDone(); iterator.next()) {
 			final int type = iterator.currentSegment(segment);
 			switch (type) {
 				case PathIterator.SEG_MOVETO:
-					path.moveTo(segment[0], segment[1]);
+					sink.moveTo(segment[0], segment[1]);
 					break;
 				case PathIterator.SEG_LINETO:
-					path.lineTo(segment[0], segment[1]);
+					sink.lineTo(segment[0], segment[1]);
 					break;
 				case PathIterator.SEG_QUADTO:
-					path.quadTo(segment[0], segment[1], segment[2], segment[3]);
+					sink.quadTo(segment[0], segment[1], segment[2], segment[3]);
 					break;
 				case PathIterator.SEG_CUBICTO:
-					path.curveTo(segment[0], segment[1], segment[2], segment[3],
+					sink.cubicTo(segment[0], segment[1], segment[2], segment[3],
 						segment[4], segment[5]);
 					break;
 				case PathIterator.SEG_CLOSE:
-					path.setClosed(true);
+					sink.close();
 					break;
+				default:
+					throw new IllegalArgumentException("Unknown segment type: " + type);
 			}
 		}
+	}
+
+	public static BezierPath toBezierPath(final PathIterator iterator) {
+		final BezierPath path = new BezierPath();
+		stream(iterator, sink(path));
 		return path;
 	}
 
+	/** Converts the given ROI, which must consist of a single contour. */
+	public static BezierPath toBezierPath(
+		final GeneralPathRegionOfInterest roi)
+	{
+		return toBezierPath(roi.getGeneralPath().getPathIterator(null));
+	}
+
 	public static void addToRegionOfInterest(final BezierPath path,
 		final GeneralPathRegionOfInterest roi)
 	{
-		addToRegionOfInterest(path.toGeneralPath().getPathIterator(null), roi);
+		stream(path, sink(roi));
 	}
 
 	public static void addToRegionOfInterest(final PathIterator iterator,
 		final GeneralPathRegionOfInterest roi)
 	{
-		final double[] segment = new double[6];
-		for (; !iterator.isDone(); iterator.next()) {
-			final int type = iterator.currentSegment(segment);
-			switch (type) {
-				case PathIterator.SEG_MOVETO:
-					roi.moveTo(segment[0], segment[1]);
-					break;
-				case PathIterator.SEG_LINETO:
-					roi.lineTo(segment[0], segment[1]);
-					break;
-				case PathIterator.SEG_QUADTO:
-					roi.quadTo(segment[0], segment[1], segment[2], segment[3]);
-					break;
-				case PathIterator.SEG_CUBICTO:
-					roi.cubicTo(segment[0], segment[1], segment[2], segment[3],
-						segment[4], segment[5]);
-					break;
-				case PathIterator.SEG_CLOSE:
-					roi.close();
-					break;
-				default:
-					throw new UnsupportedOperationException();
-			}
-		}
+		stream(iterator, sink(roi));
 	}
 
 	public enum OP {
@@ -141,11 +265,50 @@ public class BezierPathFunctions {
 		return op(path1, path2, OP.SUBTRACT);
 	}
 
+	/** The implementation used to compute boolean operations on shapes. */
+	public enum Engine {
+		/** Uses {@link Area}; supports curves, but is slow for large polygons. */
+		AREA,
+		/**
+		 * Uses {@link PolygonClipper} for shapes made of straight segments only,
+		 * falling back to {@link #AREA} for shapes with curves.
+		 */
+		POLYGON
+	}
+
 	public static BezierPath op(final BezierPath path1, final BezierPath path2,
 		final OP op)
 	{
-		final Area area1 = new Area(path1.toGeneralPath());
-		final Area area2 = new Area(path2.toGeneralPath());
+		return op(path1, path2, op, Engine.AREA);
+	}
+
+	public static BezierPath op(final BezierPath path1, final BezierPath path2,
+		final OP op, final Engine engine)
+	{
+		final Shape result = op(path1.toGeneralPath(), path2.toGeneralPath(), op,
+			engine);
+		return toBezierPath(result.getPathIterator(new AffineTransform()));
+	}
+
+	/**
+	 * Performs a boolean operation on two shapes, using the given engine.
+	 * <p>
+	 * Shapes whose bounds do not overlap are handled without invoking the
+	 * engine at all.
+	 * </p>
+	 */
+	public static GeneralPath op(final Shape shape1, final Shape shape2,
+		final OP op, final Engine engine)
+	{
+		final GeneralPath disjoint = disjointOp(shape1, shape2, op);
+		if (disjoint != null) return disjoint;
+		if (engine == Engine.POLYGON && PolygonClipper.isPolygonal(shape1) &&
+			PolygonClipper.isPolygonal(shape2))
+		{
+			return PolygonClipper.op(shape1, shape2, op);
+		}
+		final Area area1 = new Area(shape1);
+		final Area area2 = new Area(shape2);
 		switch (op) {
 			case ADD:
 				area1.add(area2);
@@ -160,7 +323,147 @@ public class BezierPathFunctions {
 				area1.subtract(area2);
 				break;
 		}
-		return toBezierPath(area1.getPathIterator(new AffineTransform()));
+		return new GeneralPath(area1);
+	}
+
+	/**
+	 * Combines any number of shapes with the given operation, which must be
+	 * associative ({@link OP#ADD}, {@link OP#INTERSECT} or {@link OP#XOR}).
+	 * <p>
+	 * Rather than folding the shapes into the result one by one, which makes
+	 * each step pay for the ever-growing intermediate result, this merges them
+	 * pairwise in a balanced tree, with the subtrees computed in parallel.
+	 * </p>
+	 */
+	public static GeneralPath op(final List<? extends Shape> shapes,
+		final OP op, final Engine engine)
+	{
+		if (op == OP.SUBTRACT) {
+			throw new IllegalArgumentException("Not an associative operation: " +
+				op);
+		}
+		if (shapes.isEmpty()) return new GeneralPath();
+		final Reduction reduction = new Reduction(shapes, 0, shapes.size(), op,
+			engine, new AtomicBoolean());
+		final Shape result = ForkJoinPool.commonPool().invoke(reduction);
+		// NB: A single shape comes back as is; copy it rather than hand the
+		// caller's own shape back as the result.
+		return shapes.size() > 1 && result instanceof GeneralPath
+			? (GeneralPath) result : new GeneralPath(result);
+	}
+
+	/** Computes the union of the given shapes as a region of interest. */
+	public static GeneralPathRegionOfInterest union(
+		final List<? extends Shape> shapes)
+	{
+		return toRegionOfInterest(op(shapes, OP.ADD, Engine.POLYGON));
+	}
+
+	/** Computes the intersection of the given shapes as a region of interest. */
+	public static GeneralPathRegionOfInterest intersection(
+		final List<? extends Shape> shapes)
+	{
+		return toRegionOfInterest(op(shapes, OP.INTERSECT, Engine.POLYGON));
+	}
+
+	public static GeneralPathRegionOfInterest toRegionOfInterest(
+		final Shape shape)
+	{
+		final GeneralPathRegionOfInterest roi = new GeneralPathRegionOfInterest();
+		addToRegionOfInterest(shape.getPathIterator(null), roi);
+		return roi;
+	}
+
+	/**
+	 * Gets the area which the given overlay encloses in the XY plane, or null if
+	 * the overlay does not enclose an area which can be described by a path.
+	 */
+	public static Shape toShape(final Overlay overlay) {
+		if (overlay instanceof RectangleOverlay) {
+			final RectangleOverlay rectangle = (RectangleOverlay) overlay;
+			return new Rectangle2D.Double(rectangle.getOrigin(0), rectangle
+				.getOrigin(1), rectangle.getExtent(0), rectangle.getExtent(1));
+		}
+		if (overlay instanceof EllipseOverlay) {
+			final EllipseOverlay ellipse = (EllipseOverlay) overlay;
+			final double radiusX = ellipse.getRadius(0);
+			final double radiusY = ellipse.getRadius(1);
+			return new Ellipse2D.Double(ellipse.getOrigin(0) - radiusX, ellipse
+				.getOrigin(1) - radiusY, 2 * radiusX, 2 * radiusY);
+		}
+		if (overlay instanceof PolygonOverlay) {
+			final PolygonRegionOfInterest roi =
+				((PolygonOverlay) overlay).getRegionOfInterest();
+			final Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+			for (int i = 0; i < roi.getVertexCount(); i++) {
+				final RealLocalizable vertex = roi.getVertex(i);
+				final double x = vertex.getDoublePosition(0);
+				final double y = vertex.getDoublePosition(1);
+				if (i == 0) path.moveTo(x, y);
+				else path.lineTo(x, y);
+			}
+			path.closePath();
+			return path;
+		}
+		if (overlay instanceof GeneralPathOverlay) {
+			return ((GeneralPathOverlay) overlay).getRegionOfInterest()
+				.getGeneralPath();
+		}
+		return null; // e.g. lines and points, which enclose no area
+	}
+
+	// -- Helper methods --
+
+	/** Feeds the segment joining two nodes, as drawn by JHotDraw. */
+	private static void segment(final Node previous, final Node current,
+		final PathSink sink)
+	{
+		final boolean c2 = (previous.mask & BezierPath.C2_MASK) != 0;
+		final boolean c1 = (current.mask & BezierPath.C1_MASK) != 0;
+		if (c2 && c1) {
+			sink.cubicTo(previous.x[2], previous.y[2], current.x[1], current.y[1],
+				current.x[0], current.y[0]);
+		}
+		else if (c2) {
+			sink.quadTo(previous.x[2], previous.y[2], current.x[0], current.y[0]);
+		}
+		else if (c1) {
+			sink.quadTo(current.x[1], current.y[1], current.x[0], current.y[0]);
+		}
+		else sink.lineTo(current.x[0], current.y[0]);
+	}
+
+	/**
+	 * Computes the result of an operation on two shapes with disjoint bounds.
+	 * 
+	 * @return the result, or null if the bounds overlap, or the result cannot
+	 *         be derived from the shapes directly
+	 */
+	private static GeneralPath disjointOp(final Shape shape1, final Shape shape2,
+		final OP op)
+	{
+		final Rectangle2D bounds1 = shape1.getBounds2D();
+		final Rectangle2D bounds2 = shape2.getBounds2D();
+		if (bounds1.intersects(bounds2)) return null;
+		switch (op) {
+			case INTERSECT:
+				return new GeneralPath();
+			case SUBTRACT:
+				return new GeneralPath(shape1);
+			case ADD:
+			case XOR:
+				final GeneralPath path = new GeneralPath(shape1);
+				// NB: Concatenating the shapes is only safe if they agree on how
+				// their insides are determined.
+				if (path.getWindingRule() != shape2.getPathIterator(null)
+					.getWindingRule())
+				{
+					return null;
+				}
+				path.append(shape2, false);
+				return path;
+		}
+		return null;
 	}
 
 	@SuppressWarnings("unused")
@@ -212,4 +515,49 @@ public class BezierPathFunctions {
 		show(path1.toGeneralPath());
 	}
 
+	// -- Helper classes --
+
+	/** Merges a range of shapes by recursively splitting it in halves. */
+	@SuppressWarnings("serial")
+	private static class Reduction extends RecursiveTask<Shape> {
+
+		private final List<? extends Shape> shapes;
+		private final int start, end;
+		private final OP op;
+		private final Engine engine;
+
+		/** Set once an intersection is known to be empty. */
+		private final AtomicBoolean empty;
+
+		public Reduction(final List<? extends Shape> shapes, final int start,
+			final int end, final OP op, final Engine engine,
+			final AtomicBoolean empty)
+		{
+			this.shapes = shapes;
+			this.start = start;
+			this.end = end;
+			this.op = op;
+			this.engine = engine;
+			this.empty = empty;
+		}
+
+		@Override
+		protected Shape compute() {
+			if (empty.get()) return new GeneralPath();
+			if (end - start == 1) return shapes.get(start);
+			final int middle = (start + end) >>> 1;
+			final Reduction left = new Reduction(shapes, start, middle, op, engine,
+				empty);
+			left.fork();
+			final Shape right = new Reduction(shapes, middle, end, op, engine,
+				empty).compute();
+			final Shape result = op(left.join(), right, op, engine);
+			if (op == OP.INTERSECT && result.getBounds2D().isEmpty()) {
+				// NB: Nothing can intersect the empty set; skip the remaining work.
+				empty.set(true);
+			}
+			return result;
+		}
+	}
+
 }
@@ -57,7 +57,8 @@ import org.scijava.util.RealCoords;
  */
 @Plugin(type = JHotDrawAdapter.class, priority = SwingEllipseTool.PRIORITY)
 public class EllipseJHotDrawAdapter extends
-	AbstractJHotDrawAdapter<EllipseOverlay, EllipseFigure>
+	AbstractJHotDrawAdapter<EllipseOverlay, EllipseFigure> implements
+	ConcurrentJHotDrawAdapter<EllipseFigure>
 {
 
 	protected static EllipseOverlay downcastOverlay(final Overlay roi) {
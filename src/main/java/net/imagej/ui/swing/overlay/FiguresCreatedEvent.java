@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import java.util.Collections;
+import java.util.List;
+
+import net.imagej.display.ImageDisplay;
+import net.imagej.display.OverlayView;
+
+import org.jhotdraw.draw.Figure;
+import org.scijava.display.event.DisplayEvent;
+
+/**
+ * An event that reports the creation of a batch of JHotDraw {@link Figure}s,
+ * each linked to an ImageJ {@link OverlayView}, in a particular
+ * {@link ImageDisplay}. It is the bulk counterpart of
+ * {@link FigureCreatedEvent}, allowing the display to be updated once for the
+ * whole batch.
+ * 
+ * @see JHotDrawService#linkOverlays(List, JHotDrawAdapter, ImageDisplay)
+ */
+public class FiguresCreatedEvent extends DisplayEvent {
+
+	private final List<OverlayView> views;
+	private final List<Figure> figures;
+	private final ImageDisplay display;
+
+	/**
+	 * Creates a new event.
+	 * 
+	 * @param views the newly linked overlay views
+	 * @param figures the newly created figures, in the same order as the views
+	 * @param display the display to which the figures belong
+	 */
+	public FiguresCreatedEvent(final List<OverlayView> views,
+		final List<Figure> figures, final ImageDisplay display)
+	{
+		super(display);
+		if (views.size() != figures.size()) {
+			throw new IllegalArgumentException("Mismatched views and figures: " +
+				views.size() + " != " + figures.size());
+		}
+		this.views = Collections.unmodifiableList(views);
+		this.figures = Collections.unmodifiableList(figures);
+		this.display = display;
+	}
+
+	/** Gets the newly linked {@link OverlayView}s. */
+	public List<OverlayView> getViews() {
+		return views;
+	}
+
+	/**
+	 * Gets the newly created {@link Figure}s; the figure at a given index is
+	 * linked to the view at the same index of {@link #getViews()}.
+	 */
+	public List<Figure> getFigures() {
+		return figures;
+	}
+
+	// -- DisplayEvent methods --
+
+	@Override
+	public ImageDisplay getDisplay() {
+		return display;
+	}
+
+}
@@ -34,11 +34,11 @@ import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Path2D;
-import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D.Double;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -63,7 +63,16 @@ import org.jhotdraw.geom.BezierPath;
 public class GeneralPathFigure extends AbstractAttributedFigure {
 
 	private List<BezierFigure> figures;
-	private transient GeneralPath path;
+
+	/** Composite path of all figures; null when it needs to be rebuilt. */
+	private transient volatile GeneralPath path;
+
+	/**
+	 * Cached path of each figure, dropped when that figure changes. Also guards
+	 * the rebuilding and invalidation of the composite path.
+	 */
+	private final Map<BezierFigure, Path2D> subpaths =
+		new IdentityHashMap<>();
 
 	public GeneralPathFigure(final BezierFigure... list) {
 		figures = new ArrayList<BezierFigure>() {
@@ -73,43 +82,43 @@ public class GeneralPathFigure extends AbstractAttributedFigure {
 				figure.addFigureListener(new FigureListener() {
 					@Override
 					public void areaInvalidated(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireAreaInvalidated();
 					}
 
 					@Override
 					public void attributeChanged(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireAttributeChanged(e.getAttribute(), e.getOldValue(), e.getNewValue());
 					}
 
 					@Override
 					public void figureHandlesChanged(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireFigureHandlesChanged();
 					}
 
 					@Override
 					public void figureChanged(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireFigureChanged();
 					}
 
 					@Override
 					public void figureAdded(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireFigureAdded();
 					}
 
 					@Override
 					public void figureRemoved(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireFigureRemoved();
 					}
 
 					@Override
 					public void figureRequestRemove(FigureEvent e) {
-						invalidate();
+						invalidate(figure);
 						fireFigureRequestRemove();
 					}
 				});
@@ -160,7 +169,12 @@ public class GeneralPathFigure extends AbstractAttributedFigure {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void restoreTransformTo(Object geometry) {
-		figures = (List<BezierFigure>) geometry;
+		// NB: Add the figures one by one, so that their changes are listened to.
+		figures.clear();
+		for (final BezierFigure figure : (List<BezierFigure>) geometry) {
+			figures.add(figure);
+		}
+		invalidate();
 	}
 
 	@Override
@@ -196,8 +210,11 @@ public class GeneralPathFigure extends AbstractAttributedFigure {
 	}
 
 	@Override
-	public synchronized void invalidate() {
-		path = null;
+	public void invalidate() {
+		synchronized (subpaths) {
+			subpaths.clear();
+			path = null;
+		}
 		super.invalidate();
 	}
 
@@ -242,51 +259,62 @@ public class GeneralPathFigure extends AbstractAttributedFigure {
 
     /* -- public methods -- */
 
-	@SuppressWarnings("null")
 	public synchronized void setGeneralPath(final GeneralPath path) {
-		this.path = path;
-		figures.clear();
-		BezierPath bezierPath = null;
-		final PathIterator iterator = path.getPathIterator(null);
-		final double[] segment = new double[6];
-		for (; !iterator.isDone(); iterator.next()) {
-			int type = iterator.currentSegment(segment);
-			switch (type) {
-			case PathIterator.SEG_MOVETO:
-				if (bezierPath != null) add(bezierPath, false);
-				bezierPath = new BezierPath();
-				bezierPath.moveTo(segment[0], segment[1]);
-				break;
-			case PathIterator.SEG_LINETO:
-				bezierPath.lineTo(segment[0], segment[1]);
-				break;
-			case PathIterator.SEG_QUADTO:
-				bezierPath.quadTo(segment[0], segment[1], segment[2], segment[3]);
-				break;
-			case PathIterator.SEG_CUBICTO:
-				bezierPath.curveTo(segment[0], segment[1], segment[2], segment[3], segment[4], segment[5]);
-				break;
-			case PathIterator.SEG_CLOSE:
-				add(bezierPath, true);
-				bezierPath = null;
-				break;
-			}
+		synchronized (subpaths) {
+			subpaths.clear();
+			this.path = path;
 		}
-		if (bezierPath != null) add(bezierPath, false);
+		figures.clear();
+		final SubpathSink sink = new SubpathSink();
+		BezierPathFunctions.stream(path.getPathIterator(null), sink);
+		sink.finish(false);
 	}
 
-	public synchronized GeneralPath getGeneralPath() {
-		if (path == null) {
-			path = new GeneralPath(Path2D.WIND_EVEN_ODD);
+	/**
+	 * Gets the composite path of all figures. This does not lock unless the
+	 * path is stale, in which case it is rebuilt from the cached paths of the
+	 * figures; only the figures which changed since are converted anew.
+	 */
+	public GeneralPath getGeneralPath() {
+		final GeneralPath cached = path;
+		if (cached != null) return cached;
+		synchronized (subpaths) {
+			if (path != null) return path; // rebuilt in the meantime
+			final GeneralPath composite = new GeneralPath(Path2D.WIND_EVEN_ODD);
 			for (final BezierFigure figure : figures) {
-				path.append(figure.getBezierPath(), false);
+				Path2D subpath = subpaths.get(figure);
+				if (subpath == null) {
+					subpath = figure.getBezierPath().toGeneralPath();
+					subpaths.put(figure, subpath);
+				}
+				composite.append(subpath, false);
 			}
+			path = composite;
+			return composite;
+		}
+	}
+
+	/**
+	 * Feeds the paths of all figures to the given sink, one after another,
+	 * without building the composite path.
+	 */
+	public void stream(final BezierPathFunctions.PathSink sink) {
+		for (final BezierFigure figure : figures) {
+			BezierPathFunctions.stream(figure.getBezierPath(), sink);
 		}
-		return path;
 	}
 
 	/* -- helper methods -- */
 
+	/** Drops the cached path of the given figure, and the composite path. */
+	private void invalidate(final BezierFigure figure) {
+		synchronized (subpaths) {
+			subpaths.remove(figure);
+			path = null;
+		}
+		super.invalidate();
+	}
+
 	private boolean add(final BezierPath bezierPath, boolean isClosed) {
 		bezierPath.setClosed(isClosed);
 		BezierFigure figure = new BezierFigure(isClosed);
@@ -294,4 +322,49 @@ public class GeneralPathFigure extends AbstractAttributedFigure {
 		return figures.add(figure);
 	}
 
+	/* -- helper classes -- */
+
+	/** Adds one {@link BezierFigure} per subpath it receives. */
+	private class SubpathSink implements BezierPathFunctions.PathSink {
+
+		private BezierPath bezierPath;
+
+		@Override
+		public void moveTo(final double x, final double y) {
+			finish(false);
+			bezierPath = new BezierPath();
+			bezierPath.moveTo(x, y);
+		}
+
+		@Override
+		public void lineTo(final double x, final double y) {
+			bezierPath.lineTo(x, y);
+		}
+
+		@Override
+		public void quadTo(final double x1, final double y1, final double x2,
+			final double y2)
+		{
+			bezierPath.quadTo(x1, y1, x2, y2);
+		}
+
+		@Override
+		public void cubicTo(final double x1, final double y1, final double x2,
+			final double y2, final double x3, final double y3)
+		{
+			bezierPath.curveTo(x1, y1, x2, y2, x3, y3);
+		}
+
+		@Override
+		public void close() {
+			finish(true);
+		}
+
+		/** Adds the current subpath, if any. */
+		public void finish(final boolean isClosed) {
+			if (bezierPath != null) add(bezierPath, isClosed);
+			bezierPath = null;
+		}
+	}
+
 }
@@ -96,8 +96,7 @@ public class GeneralPathJHotDrawAdapter extends
 		final GeneralPathOverlay overlay = downcastOverlay(view.getData());
 		final GeneralPathRegionOfInterest roi = overlay.getRegionOfInterest();
 		roi.reset();
-		BezierPathFunctions.addToRegionOfInterest(figure.getGeneralPath()
-			.getPathIterator(null), roi);
+		figure.stream(BezierPathFunctions.sink(roi));
 		overlay.update();
 	}
 
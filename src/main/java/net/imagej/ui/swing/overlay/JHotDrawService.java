@@ -33,6 +33,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.imagej.ImageJService;
 import net.imagej.display.DataView;
@@ -42,11 +45,14 @@ import net.imagej.display.OverlayView;
 import net.imagej.overlay.Overlay;
 
 import org.jhotdraw.draw.Figure;
+import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.plugin.PluginService;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
 import org.scijava.tool.Tool;
@@ -75,6 +81,17 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 
 	private List<JHotDrawAdapter<?>> adapters;
 
+	/** Cache of adapters by tool class. */
+	private final Map<Class<?>, JHotDrawAdapter<?>> toolAdapters =
+		new ConcurrentHashMap<>();
+
+	/** Cache of adapters by overlay class, then figure class. */
+	private final Map<Class<?>, Map<Class<?>, JHotDrawAdapter<?>>>
+		overlayAdapters = new ConcurrentHashMap<>();
+
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
+
 	// -- JHotDrawService methods --
 
 	/**
@@ -84,10 +101,16 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 	 * @return the highest-priority adapter that supports the tool
 	 */
 	public JHotDrawAdapter<?> getAdapter(final Tool tool) {
-		for (final JHotDrawAdapter<?> adapter : adapters()) {
-			if (adapter.supports(tool)) return adapter;
+		if (tool == null) return findAdapter(tool);
+		final JHotDrawAdapter<?> cached = toolAdapters.get(tool.getClass());
+		if (cached != null) {
+			cacheHits.incrementAndGet();
+			return cached;
 		}
-		return null;
+		cacheMisses.incrementAndGet();
+		final JHotDrawAdapter<?> adapter = findAdapter(tool);
+		if (adapter != null) toolAdapters.put(tool.getClass(), adapter);
+		return adapter;
 	}
 
 	/**
@@ -111,10 +134,30 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 	public JHotDrawAdapter<?> getAdapter(final Overlay overlay,
 		final Figure figure)
 	{
-		for (final JHotDrawAdapter<?> adapter : adapters()) {
-			if (adapter.supports(overlay, figure)) return adapter;
+		if (overlay == null) return findAdapter(overlay, figure);
+		// NB: ConcurrentHashMap does not allow null keys.
+		final Class<?> figureClass =
+			figure == null ? Void.class : figure.getClass();
+		Map<Class<?>, JHotDrawAdapter<?>> byFigure =
+			overlayAdapters.get(overlay.getClass());
+		if (byFigure != null) {
+			final JHotDrawAdapter<?> cached = byFigure.get(figureClass);
+			if (cached != null) {
+				cacheHits.incrementAndGet();
+				return cached;
+			}
 		}
-		return null;
+		cacheMisses.incrementAndGet();
+		final JHotDrawAdapter<?> adapter = findAdapter(overlay, figure);
+		if (adapter == null) return null;
+		if (byFigure == null) {
+			final Map<Class<?>, JHotDrawAdapter<?>> newMap =
+				new ConcurrentHashMap<>();
+			byFigure = overlayAdapters.putIfAbsent(overlay.getClass(), newMap);
+			if (byFigure == null) byFigure = newMap;
+		}
+		byFigure.put(figureClass, adapter);
+		return adapter;
 	}
 
 	/**
@@ -145,6 +188,24 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 		return result;
 	}
 
+	/**
+	 * Gets the number of adapter lookups answered from the cache.
+	 * <p>
+	 * Lookups by {@link #getAdapter(Tool)} and
+	 * {@link #getAdapter(Overlay, Figure)} are cached by the classes of their
+	 * arguments, since adapters decide whether they support an object based on
+	 * its type. The cache is cleared whenever plugins are added or removed.
+	 * </p>
+	 */
+	public long getCacheHits() {
+		return cacheHits.get();
+	}
+
+	/** Gets the number of adapter lookups which had to query the adapters. */
+	public long getCacheMisses() {
+		return cacheMisses.get();
+	}
+
 	/** Gets all of the discovered adapters. */
 	public Collection<JHotDrawAdapter<?>> getAllAdapters() {
 		return Collections.unmodifiableCollection(adapters());
@@ -157,6 +218,78 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 	 */
 	public <F extends Figure> void linkOverlay(final F figure,
 		final JHotDrawAdapter<F> adapter, final ImageDisplay display)
+	{
+		final OverlayView overlayView = createOverlayView(figure, adapter);
+		eventService.publish(new FigureCreatedEvent(overlayView, figure, display));
+	}
+
+	/**
+	 * Links a batch of JHotDraw {@link Figure}s of a particular
+	 * {@link ImageDisplay} to new {@link Overlay}s and {@link OverlayView}s,
+	 * created by the given {@link JHotDrawAdapter}.
+	 * <p>
+	 * Unlike calling {@link #linkOverlay} once per figure, this publishes a
+	 * single {@link FiguresCreatedEvent} for the whole batch, so that the
+	 * display is only updated once. The figures need not be part of the
+	 * display's drawing yet; they are added to it as needed when the display
+	 * is updated.
+	 * </p>
+	 */
+	public <F extends Figure> void linkOverlays(final List<? extends F> figures,
+		final JHotDrawAdapter<F> adapter, final ImageDisplay display)
+	{
+		if (figures.isEmpty()) return;
+		final List<OverlayView> overlayViews = new ArrayList<>(figures.size());
+		for (final F figure : figures) {
+			overlayViews.add(createOverlayView(figure, adapter));
+		}
+		eventService.publish(new FiguresCreatedEvent(overlayViews,
+			new ArrayList<Figure>(figures), display));
+	}
+
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent event) {
+		clearAdapters();
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent event) {
+		clearAdapters();
+	}
+
+	// -- Helper methods --
+
+	private JHotDrawAdapter<?> findAdapter(final Tool tool) {
+		for (final JHotDrawAdapter<?> adapter : adapters()) {
+			if (adapter.supports(tool)) return adapter;
+		}
+		return null;
+	}
+
+	private JHotDrawAdapter<?> findAdapter(final Overlay overlay,
+		final Figure figure)
+	{
+		for (final JHotDrawAdapter<?> adapter : adapters()) {
+			if (adapter.supports(overlay, figure)) return adapter;
+		}
+		return null;
+	}
+
+	/** Discards the adapters, and all cached lookups, as plugins changed. */
+	private synchronized void clearAdapters() {
+		adapters = null;
+		toolAdapters.clear();
+		overlayAdapters.clear();
+	}
+
+	/**
+	 * Creates a new {@link Overlay} and {@link OverlayView} with the given
+	 * {@link JHotDrawAdapter}, matching the given {@link Figure}.
+	 */
+	private <F extends Figure> OverlayView createOverlayView(final F figure,
+		final JHotDrawAdapter<F> adapter)
 	{
 		final Overlay overlay = adapter.createNewOverlay();
 		final DataView view = imageDisplayService.createDataView(overlay);
@@ -165,13 +298,10 @@ public class JHotDrawService extends AbstractService implements ImageJService {
 		}
 		final OverlayView overlayView = (OverlayView) view;
 		adapter.updateOverlay(figure, overlayView);
-
-		eventService.publish(new FigureCreatedEvent(overlayView, figure, display));
+		return overlayView;
 	}
 
-	// -- Helper methods --
-
-	private List<JHotDrawAdapter<?>> adapters() {
+	private synchronized List<JHotDrawAdapter<?>> adapters() {
 		if (adapters == null) {
 			// ask the plugin service for the list of available JHotDraw adapters
 			@SuppressWarnings({ "rawtypes", "unchecked" })
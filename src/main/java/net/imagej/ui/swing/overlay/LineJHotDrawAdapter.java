@@ -56,7 +56,8 @@ import org.scijava.util.RealCoords;
  */
 @Plugin(type = JHotDrawAdapter.class, priority = SwingLineTool.PRIORITY)
 public class LineJHotDrawAdapter extends
-	AbstractJHotDrawAdapter<LineOverlay, LineFigure>
+	AbstractJHotDrawAdapter<LineOverlay, LineFigure> implements
+	ConcurrentJHotDrawAdapter<LineFigure>
 {
 
 	@Parameter
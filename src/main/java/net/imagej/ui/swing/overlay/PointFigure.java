@@ -31,7 +31,9 @@ package net.imagej.ui.swing.overlay;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
@@ -48,18 +50,48 @@ import org.scijava.util.ColorRGB;
 
 /**
  * Implementation of a point as a JHotDraw figure.
+ * <p>
+ * The coordinates are kept in primitive arrays. Hit testing goes through a
+ * uniform grid index, built lazily. Drawing skips the points outside of the
+ * clip, and paints the markers in batches, with one fill per color and batch,
+ * so that figures with many points stay responsive.
+ * </p>
  * 
  * @author Johannes Schindelin
  * @author Barry DeZonia
  */
 public class PointFigure extends AbstractAttributedFigure {
 
+	/** Extent, in screen pixels, of a point marker around its center. */
+	private static final int MARKER_RADIUS = 7;
+
 	protected Rectangle2D.Double bounds;
-	private final Rectangle2D.Double rect;
-	private final List<double[]> points;
+	private Rectangle2D.Double rect;
+	private Rectangle clip;
+	private Path2D.Double outlinePath, centerPath, tickPath;
+
+	/** Marker cells of the current batch, to detect overlapping markers. */
+	private CellSet batchCells;
+
+	private double[] xs;
+	private double[] ys;
+	private int count;
 	private Color fillColor = Color.yellow;
 	private Color lineColor = Color.white;
 
+	// -- grid index --
+
+	/** Whether the grid index needs to be rebuilt before use. */
+	private boolean gridDirty = true;
+	private double gridX, gridY, cellSize;
+	private int gridCols, gridRows;
+
+	/** Start of each cell's points within {@link #cellPoints}. */
+	private int[] cellStart;
+
+	/** Indices of the points, grouped by cell. */
+	private int[] cellPoints;
+
 	public PointFigure() {
 		this(new double[2]);
 	}
@@ -71,27 +103,37 @@ public class PointFigure extends AbstractAttributedFigure {
 	public PointFigure(List<double[]> pts) {
 		bounds = new Rectangle2D.Double();
 		rect = new Rectangle2D.Double();
-		points = new ArrayList<>();
+		clip = new Rectangle();
+		outlinePath = new Path2D.Double();
+		centerPath = new Path2D.Double();
+		tickPath = new Path2D.Double();
+		batchCells = new CellSet();
+		xs = new double[Math.max(1, pts.size())];
+		ys = new double[xs.length];
 		setPoints(pts);
 	}
 
 	public void setPoints(List<double[]> pts) {
-		points.clear();
-		double minX = Double.POSITIVE_INFINITY;
-		double minY = Double.POSITIVE_INFINITY;
-		double maxX = Double.NEGATIVE_INFINITY;
-		double maxY = Double.NEGATIVE_INFINITY;
+		ensureCapacity(pts.size());
+		count = 0;
 		for (double[] pt : pts) {
-			points.add(pt.clone());
-			if (pt[0] < minX) minX = pt[0];
-			if (pt[0] > maxX) maxX = pt[0];
-			if (pt[1] < minY) minY = pt[1];
-			if (pt[1] > maxY) maxY = pt[1];
+			xs[count] = pt[0];
+			ys[count] = pt[1];
+			count++;
 		}
-		bounds.x = minX;
-		bounds.y = minY;
-		bounds.width = maxX - minX + 0.1;
-		bounds.height = maxY - minY + 0.1;
+		pointsChanged();
+	}
+
+	/**
+	 * Sets the points from primitive coordinate arrays, avoiding any
+	 * intermediate {@code double[]} per point.
+	 */
+	public void setPoints(double[] x, double[] y, int n) {
+		ensureCapacity(n);
+		System.arraycopy(x, 0, xs, 0, n);
+		System.arraycopy(y, 0, ys, 0, n);
+		count = n;
+		pointsChanged();
 	}
 
 	public void setFillColor(final ColorRGB c) {
@@ -110,34 +152,57 @@ public class PointFigure extends AbstractAttributedFigure {
 		return bounds.y;
 	}
 
+	/** Gets the number of points. */
+	public int getPointCount() {
+		return count;
+	}
+
+	/** Gets the X coordinate of the given point. */
+	public double getPointX(int index) {
+		return xs[index];
+	}
+
+	/** Gets the Y coordinate of the given point. */
+	public double getPointY(int index) {
+		return ys[index];
+	}
+
+	/** Gets a copy of the points, as one {@code double[]} per point. */
 	public List<double[]> getPoints() {
+		final List<double[]> points = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			points.add(new double[] { xs[i], ys[i] });
+		}
 		return points;
 	}
 
 	public void move(double dx, double dy) {
 		bounds.x += dx;
 		bounds.y += dy;
-		for (double[] pt : points) {
-			pt[0] += dx;
-			pt[1] += dy;
+		for (int i = 0; i < count; i++) {
+			xs[i] += dx;
+			ys[i] += dy;
 		}
+		// NB: The grid moves along with its points.
+		gridX += dx;
+		gridY += dy;
 	}
 
 	// DRAWING
 	@Override
 	protected void drawFill(final Graphics2D g) {
-		final Rectangle2D.Double r = (Rectangle2D.Double) bounds.clone();
+		rect.setRect(bounds);
 		final double grow = AttributeKeys.getPerpendicularFillGrowth(this);
-		Geom.grow(r, grow, grow);
-		g.fill(r);
+		Geom.grow(rect, grow, grow);
+		g.fill(rect);
 	}
 
 	@Override
 	protected void drawStroke(final Graphics2D g) {
-		final Rectangle2D.Double r = (Rectangle2D.Double) bounds.clone();
+		rect.setRect(bounds);
 		final double grow = AttributeKeys.getPerpendicularDrawGrowth(this);
-		Geom.grow(r, grow, grow);
-		g.draw(r);
+		Geom.grow(rect, grow, grow);
+		g.draw(rect);
 	}
 
 	// SHAPE AND BOUNDS
@@ -160,16 +225,31 @@ public class PointFigure extends AbstractAttributedFigure {
 	 */
 	@Override
 	public boolean contains(final Point2D.Double p) {
-		final Rectangle2D.Double r = new Rectangle2D.Double();
-		for (double[] pt : points) {
-			r.x = pt[0];
-			r.y = pt[1];
-			// NB - 0.1 works, 1.0 works, even 0.0 works but selection harder
-			r.width = 1.0;
-			r.height = 1.0;
-			final double grow = AttributeKeys.getPerpendicularHitGrowth(this) + 1d;
-			Geom.grow(r, grow, grow);
-			if (r.contains(p)) return true;
+		if (count == 0) return false;
+		// NB - 0.1 works, 1.0 works, even 0.0 works but selection harder
+		final double size = 1.0;
+		final double grow = AttributeKeys.getPerpendicularHitGrowth(this) + 1d;
+		// a point hits if p lies within [pt - grow, pt + size + grow)
+		final double minX = p.x - size - grow, maxX = p.x + grow;
+		final double minY = p.y - size - grow, maxY = p.y + grow;
+		if (maxX < bounds.x || minX > bounds.x + bounds.width ||
+			maxY < bounds.y || minY > bounds.y + bounds.height)
+		{
+			return false;
+		}
+
+		if (gridDirty) buildGrid();
+		final int c0 = cellCol(minX), c1 = cellCol(maxX);
+		final int r0 = cellRow(minY), r1 = cellRow(maxY);
+		for (int row = r0; row <= r1; row++) {
+			for (int col = c0; col <= c1; col++) {
+				final int cell = row * gridCols + col;
+				for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+					final int i = cellPoints[k];
+					if (xs[i] > minX && xs[i] <= maxX && ys[i] > minY &&
+						ys[i] <= maxY) return true;
+				}
+			}
 		}
 		return false;
 	}
@@ -209,6 +289,17 @@ public class PointFigure extends AbstractAttributedFigure {
 	public PointFigure clone() {
 		final PointFigure that = (PointFigure) super.clone();
 		that.bounds = (Rectangle2D.Double) this.bounds.clone();
+		that.rect = new Rectangle2D.Double();
+		that.clip = new Rectangle();
+		that.outlinePath = new Path2D.Double();
+		that.centerPath = new Path2D.Double();
+		that.tickPath = new Path2D.Double();
+		that.batchCells = new CellSet();
+		that.xs = this.xs.clone();
+		that.ys = this.ys.clone();
+		that.gridDirty = true;
+		that.cellStart = null;
+		that.cellPoints = null;
 		return that;
 	}
 
@@ -231,62 +322,243 @@ public class PointFigure extends AbstractAttributedFigure {
 		final Color origC = g.getColor();
 		final double sx = g.getTransform().getScaleX();
 		final double sy = g.getTransform().getScaleY();
+		// NB: marker sizes are in screen pixels; convert them once
+		final double px = 1 / sx, py = 1 / sy;
+
+		// only draw the points whose marker may intersect the clip
+		double minX = Double.NEGATIVE_INFINITY, maxX = Double.POSITIVE_INFINITY;
+		double minY = Double.NEGATIVE_INFINITY, maxY = Double.POSITIVE_INFINITY;
+		if (g.getClip() != null) {
+			g.getClipBounds(clip);
+			final double mx = MARKER_RADIUS * Math.abs(px);
+			final double my = MARKER_RADIUS * Math.abs(py);
+			minX = clip.x - mx;
+			maxX = clip.x + clip.width + mx;
+			minY = clip.y - my;
+			maxY = clip.y + clip.height + my;
+		}
 
-		for (double[] pt : points) {
-			final double ctrX = pt[0];
-			final double ctrY = pt[1];
-
-			g.setColor(Color.black);
+		// NB: Markers never overlap unless they lie in neighboring cells.
+		final double cellW = 2 * MARKER_RADIUS * Math.abs(px);
+		final double cellH = 2 * MARKER_RADIUS * Math.abs(py);
+
+		// accumulate the markers into one path per color, in batches
+		outlinePath.reset();
+		centerPath.reset();
+		tickPath.reset();
+		batchCells.clear();
+		for (int i = 0; i < count; i++) {
+			final double ctrX = xs[i];
+			final double ctrY = ys[i];
+			if (ctrX < minX || ctrX > maxX || ctrY < minY || ctrY > maxY) continue;
+
+			// NB: A marker which may overlap one of the batch starts a new batch,
+			// so that overlapping markers are still painted one after the other.
+			final int cellX = (int) Math.floor(ctrX / cellW);
+			final int cellY = (int) Math.floor(ctrY / cellH);
+			if (batchCells.containsAround(cellX, cellY)) fillBatch(g);
+			batchCells.add(cellX, cellY);
 
 			// black outline around center region
-			rect.x = ctrX - 2 / sx;
-			rect.y = ctrY - 2 / sy;
-			rect.width = 5 / sx;
-			rect.height = 5 / sy;
-			g.fill(rect);
-
-			g.setColor(fillColor);
+			addRect(outlinePath, ctrX - 2 * px, ctrY - 2 * py, 5 * px, 5 * py);
 
 			// center region
-			rect.x = ctrX - 1 / sx;
-			rect.y = ctrY - 1 / sy;
-			rect.width = 3 / sx;
-			rect.height = 3 / sy;
-			g.fill(rect);
-
-			g.setColor(lineColor);
-
-			// tick mark line # 1
-			rect.x = ctrX + 3 / sx;
-			rect.y = ctrY;
-			rect.width = 4 / sx;
-			rect.height = 1 / sy;
-			g.fill(rect);
-
-			// tick mark line # 2
-			rect.x = ctrX - 6 / sx;
-			rect.y = ctrY;
-			rect.width = 4 / sx;
-			rect.height = 1 / sy;
-			g.fill(rect);
-
-			// tick mark line # 3
-			rect.x = ctrX;
-			rect.y = ctrY - 6 / sy;
-			rect.width = 1 / sx;
-			rect.height = 4 / sy;
-			g.fill(rect);
-
-			// tick mark line # 4
-			rect.x = ctrX;
-			rect.y = ctrY + 3 / sy;
-			rect.width = 1 / sx;
-			rect.height = 4 / sy;
-			g.fill(rect);
-
-			g.setColor(origC);
+			addRect(centerPath, ctrX - px, ctrY - py, 3 * px, 3 * py);
+
+			// tick mark lines
+			addRect(tickPath, ctrX + 3 * px, ctrY, 4 * px, py);
+			addRect(tickPath, ctrX - 6 * px, ctrY, 4 * px, py);
+			addRect(tickPath, ctrX, ctrY - 6 * py, px, 4 * py);
+			addRect(tickPath, ctrX, ctrY + 3 * py, px, 4 * py);
+		}
+		fillBatch(g);
+		g.setColor(origC);
+	}
+
+	// -- Helper methods --
+
+	/** Paints the markers of the current batch, and starts a new one. */
+	private void fillBatch(final Graphics2D g) {
+		if (batchCells.isEmpty()) return;
+		g.setColor(Color.black);
+		g.fill(outlinePath);
+		g.setColor(fillColor);
+		g.fill(centerPath);
+		g.setColor(lineColor);
+		g.fill(tickPath);
+		outlinePath.reset();
+		centerPath.reset();
+		tickPath.reset();
+		batchCells.clear();
+	}
+
+	private static void addRect(final Path2D.Double path, final double x,
+		final double y, final double w, final double h)
+	{
+		path.moveTo(x, y);
+		path.lineTo(x + w, y);
+		path.lineTo(x + w, y + h);
+		path.lineTo(x, y + h);
+		path.closePath();
+	}
+
+	private void ensureCapacity(final int n) {
+		if (xs.length >= n) return;
+		xs = new double[n];
+		ys = new double[n];
+	}
+
+	/** Recomputes the bounds, and discards the grid index. */
+	private void pointsChanged() {
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < count; i++) {
+			if (xs[i] < minX) minX = xs[i];
+			if (xs[i] > maxX) maxX = xs[i];
+			if (ys[i] < minY) minY = ys[i];
+			if (ys[i] > maxY) maxY = ys[i];
+		}
+		bounds.x = minX;
+		bounds.y = minY;
+		bounds.width = maxX - minX + 0.1;
+		bounds.height = maxY - minY + 0.1;
+		gridDirty = true;
+	}
+
+	/**
+	 * Buckets the points into a grid of roughly one point per cell, stored in
+	 * compressed form: the points of cell {@code c} are
+	 * {@code cellPoints[cellStart[c] .. cellStart[c + 1] - 1]}.
+	 */
+	private void buildGrid() {
+		gridX = bounds.x;
+		gridY = bounds.y;
+		final double extent = Math.max(bounds.width, bounds.height);
+		cellSize = Math.max(1, extent / Math.ceil(Math.sqrt(count)));
+		gridCols = (int) Math.min(bounds.width / cellSize, count) + 1;
+		gridRows = (int) Math.min(bounds.height / cellSize, count) + 1;
+		final int cells = gridCols * gridRows;
+
+		// count the points of each cell, then turn counts into offsets
+		if (cellStart == null || cellStart.length != cells + 1) {
+			cellStart = new int[cells + 1];
 		}
+		else Arrays.fill(cellStart, 0);
+		for (int i = 0; i < count; i++) {
+			cellStart[cell(i) + 1]++;
+		}
+		for (int c = 0; c < cells; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+
+		// place each point at the next free slot of its cell
+		if (cellPoints == null || cellPoints.length < count) {
+			cellPoints = new int[count];
+		}
+		final int[] next = Arrays.copyOf(cellStart, cells);
+		for (int i = 0; i < count; i++) {
+			cellPoints[next[cell(i)]++] = i;
+		}
+		gridDirty = false;
+	}
+
+	private int cell(final int i) {
+		return cellRow(ys[i]) * gridCols + cellCol(xs[i]);
+	}
+
+	private int cellCol(final double x) {
+		return clamp((int) Math.floor((x - gridX) / cellSize), gridCols);
+	}
+
+	private int cellRow(final double y) {
+		return clamp((int) Math.floor((y - gridY) / cellSize), gridRows);
+	}
+
+	private static int clamp(final int value, final int size) {
+		return value < 0 ? 0 : value >= size ? size - 1 : value;
 	}
 
+	// -- Helper classes --
+
+	/** A set of grid cells, which is cleared in constant time. */
+	private static class CellSet {
+
+		private long[] keys = new long[64];
+
+		/** Entries whose stamp is not the current one are empty. */
+		private int[] stamps = new int[64];
+
+		private int stamp = 1, size;
+
+		public boolean isEmpty() {
+			return size == 0;
+		}
+
+		public void clear() {
+			size = 0;
+			if (++stamp != 0) return;
+			// NB: The stamp wrapped around; forget the old entries for good.
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+
+		/** Checks whether the given cell, or one of its neighbors, is listed. */
+		public boolean containsAround(final int cellX, final int cellY) {
+			if (size == 0) return false;
+			for (int dy = -1; dy <= 1; dy++) {
+				for (int dx = -1; dx <= 1; dx++) {
+					if (contains(key(cellX + dx, cellY + dy))) return true;
+				}
+			}
+			return false;
+		}
+
+		public void add(final int cellX, final int cellY) {
+			if (2 * (size + 1) > keys.length) grow();
+			insert(key(cellX, cellY));
+		}
+
+		private boolean contains(final long key) {
+			final int mask = keys.length - 1;
+			for (int i = slot(key); stamps[i] == stamp; i = (i + 1) & mask) {
+				if (keys[i] == key) return true;
+			}
+			return false;
+		}
+
+		private void insert(final long key) {
+			final int mask = keys.length - 1;
+			int i = slot(key);
+			for (; stamps[i] == stamp; i = (i + 1) & mask) {
+				if (keys[i] == key) return;
+			}
+			keys[i] = key;
+			stamps[i] = stamp;
+			size++;
+		}
+
+		private void grow() {
+			final long[] oldKeys = keys;
+			final int[] oldStamps = stamps;
+			final int oldStamp = stamp;
+			keys = new long[2 * oldKeys.length];
+			stamps = new int[keys.length];
+			stamp = 1;
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldStamps[i] == oldStamp) insert(oldKeys[i]);
+			}
+		}
+
+		private int slot(final long key) {
+			return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (keys.length - 1);
+		}
+
+		private static long key(final int cellX, final int cellY) {
+			return ((long) cellX << 32) | (cellY & 0xffffffffL);
+		}
+	}
 
 }
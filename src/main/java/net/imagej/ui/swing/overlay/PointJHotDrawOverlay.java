@@ -30,6 +30,8 @@
 package net.imagej.ui.swing.overlay;
 
 import java.awt.Shape;
+import java.util.ArrayList;
+import java.util.List;
 
 import net.imagej.display.ImageDisplay;
 import net.imagej.display.OverlayView;
@@ -50,7 +52,8 @@ import org.scijava.util.ColorRGB;
  */
 @Plugin(type = JHotDrawAdapter.class, priority = SwingPointTool.PRIORITY)
 public class PointJHotDrawOverlay extends
-	AbstractJHotDrawAdapter<PointOverlay, PointFigure>
+	AbstractJHotDrawAdapter<PointOverlay, PointFigure> implements
+	ConcurrentJHotDrawAdapter<PointFigure>
 {
 
 	// -- JHotDrawAdapter methods --
@@ -104,8 +107,15 @@ public class PointJHotDrawOverlay extends
 		// and restore colors to what we really want
 		pointOverlay.setFillColor(fillColor);
 		pointOverlay.setLineColor(lineColor);
-		// set points
-		pointOverlay.setPoints(figure.getPoints());
+		// set points, unless they are unchanged (e.g. only the colors changed)
+		if (!samePoints(figure, pointOverlay.getPoints())) {
+			final int count = figure.getPointCount();
+			final List<double[]> points = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				points.add(new double[] { figure.getPointX(i), figure.getPointY(i) });
+			}
+			pointOverlay.setPoints(points);
+		}
 		pointOverlay.update();
 	}
 
@@ -119,4 +129,21 @@ public class PointJHotDrawOverlay extends
 		throw new UnsupportedOperationException();
 	}
 
+	// -- Helper methods --
+
+	/** Checks whether the figure holds the given points, in the same order. */
+	private static boolean samePoints(final PointFigure figure,
+		final List<double[]> points)
+	{
+		final int count = figure.getPointCount();
+		if (points.size() != count) return false;
+		for (int i = 0; i < count; i++) {
+			final double[] point = points.get(i);
+			if (point[0] != figure.getPointX(i) || point[1] != figure.getPointY(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 }
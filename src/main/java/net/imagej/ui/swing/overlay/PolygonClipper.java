@@ -0,0 +1,526 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import java.awt.Shape;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.imagej.ui.swing.overlay.BezierPathFunctions.OP;
+
+/**
+ * Boolean operations on straight-edged polygons, as an alternative to
+ * {@link java.awt.geom.Area} for {@link BezierPathFunctions}.
+ * <p>
+ * A sweep over the edges of both shapes, ordered by their lower Y bound,
+ * finds all intersections, at which the edges are split. Each resulting
+ * sub-edge is then classified by testing whether the points just to its left
+ * and right lie within either shape; it belongs to the result's boundary iff
+ * the operation yields a different answer on the two sides. Finally, the kept
+ * sub-edges, oriented with the result on their left, are linked into rings.
+ * </p>
+ * <p>
+ * Inside tests honor each shape's winding rule, and only look at the edges
+ * spanning the query's row, found through a bucketing of the edges by Y.
+ * Shapes with curved segments are not supported; see {@link #isPolygonal}.
+ * </p>
+ */
+public class PolygonClipper {
+
+	/** Relative tolerance for intersection parameters along an edge. */
+	private static final double PARAM_EPSILON = 1e-12;
+
+	private PolygonClipper() {
+		// prevent instantiation of utility class
+	}
+
+	// -- PolygonClipper methods --
+
+	/** Checks whether the given shape is made only of straight segments. */
+	public static boolean isPolygonal(final Shape shape) {
+		final double[] segment = new double[6];
+		for (final PathIterator iter = shape.getPathIterator(null); !iter
+			.isDone(); iter.next())
+		{
+			final int type = iter.currentSegment(segment);
+			if (type == PathIterator.SEG_QUADTO || type == PathIterator.SEG_CUBICTO)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Performs the given boolean operation on two polygonal shapes.
+	 * 
+	 * @throws IllegalArgumentException if either shape has curved segments
+	 */
+	public static GeneralPath op(final Shape shape1, final Shape shape2,
+		final OP op)
+	{
+		final Polygon a = new Polygon(shape1);
+		final Polygon b = new Polygon(shape2);
+
+		final List<Edge> edges = new ArrayList<>(a.edges.size() + b.edges.size());
+		edges.addAll(a.edges);
+		edges.addAll(b.edges);
+
+		final Rectangle2D bounds = a.bounds.createUnion(b.bounds);
+		final double scale = Math.max(1, Math.max(bounds.getWidth(), bounds
+			.getHeight()));
+		split(edges, new Vertices(edges, 1e-10 * scale));
+
+		// NB: Offset the sample points by a tiny fraction of the extent.
+		final double epsilon = 1e-9 * scale;
+
+		final Set<SubEdge> seen = new HashSet<>();
+		final List<SubEdge> kept = new ArrayList<>();
+		for (final Edge edge : edges) {
+			for (int i = 0; i + 1 < edge.points.size(); i++) {
+				final Point2D.Double p = edge.points.get(i);
+				final Point2D.Double q = edge.points.get(i + 1);
+				if (p.equals(q)) continue;
+				final SubEdge sub = new SubEdge(p, q);
+				// NB: Coincident sub-edges bound the same regions; keep one.
+				if (!seen.add(sub)) continue;
+				final Boolean leftInside = classify(sub, a, b, op, epsilon);
+				if (leftInside == null) continue; // same on both sides
+				kept.add(leftInside ? sub : new SubEdge(q, p));
+			}
+		}
+		return link(kept);
+	}
+
+	// -- Helper methods --
+
+	/** Splits all edges at their mutual intersections, using a sweep in Y. */
+	private static void split(final List<Edge> edges, final Vertices vertices) {
+		final Edge[] sorted = edges.toArray(new Edge[edges.size()]);
+		Arrays.sort(sorted, new Comparator<Edge>() {
+
+			@Override
+			public int compare(final Edge e1, final Edge e2) {
+				return Double.compare(e1.minY, e2.minY);
+			}
+		});
+		final List<Edge> active = new ArrayList<>();
+		for (final Edge edge : sorted) {
+			// retire the edges which end above the current one
+			for (int i = active.size() - 1; i >= 0; i--) {
+				if (active.get(i).maxY < edge.minY) {
+					active.set(i, active.get(active.size() - 1));
+					active.remove(active.size() - 1);
+				}
+			}
+			for (final Edge other : active) {
+				if (other.maxX < edge.minX || other.minX > edge.maxX) continue;
+				intersect(edge, other, vertices);
+			}
+			active.add(edge);
+		}
+		for (final Edge edge : edges) {
+			edge.sortSplits();
+		}
+	}
+
+	/** Records the intersection points of two edges on both of them. */
+	private static void intersect(final Edge e, final Edge f,
+		final Vertices vertices)
+	{
+		final double rx = e.x2 - e.x1, ry = e.y2 - e.y1;
+		final double sx = f.x2 - f.x1, sy = f.y2 - f.y1;
+		final double qpx = f.x1 - e.x1, qpy = f.y1 - e.y1;
+		final double denom = rx * sy - ry * sx;
+		final double tol = PARAM_EPSILON * (Math.abs(rx * sy) + Math.abs(ry * sx));
+
+		if (Math.abs(denom) <= tol) {
+			// parallel; split at each other's endpoints where collinear
+			final double cross = qpx * ry - qpy * rx;
+			final double crossTol = PARAM_EPSILON * (Math.abs(qpx * ry) + Math.abs(
+				qpy * rx)) + 1e-300;
+			if (Math.abs(cross) > Math.max(crossTol, tol)) return;
+			e.splitAtPoint(f.p1);
+			e.splitAtPoint(f.p2);
+			f.splitAtPoint(e.p1);
+			f.splitAtPoint(e.p2);
+			return;
+		}
+
+		final double t = (qpx * sy - qpy * sx) / denom;
+		final double u = (qpx * ry - qpy * rx) / denom;
+		if (t < -PARAM_EPSILON || t > 1 + PARAM_EPSILON || u < -PARAM_EPSILON ||
+			u > 1 + PARAM_EPSILON)
+		{
+			return; // no intersection
+		}
+		final boolean tEnd = t <= PARAM_EPSILON || t >= 1 - PARAM_EPSILON;
+		final boolean uEnd = u <= PARAM_EPSILON || u >= 1 - PARAM_EPSILON;
+		if (tEnd && uEnd) return; // the edges merely share a vertex
+
+		// NB: Reuse an existing vertex where possible, so that all edges
+		// meeting there are split at exactly the same coordinates.
+		final Point2D.Double point;
+		if (tEnd) point = t < 0.5 ? e.p1 : e.p2;
+		else if (uEnd) point = u < 0.5 ? f.p1 : f.p2;
+		else point = vertices.get(e.x1 + t * rx, e.y1 + t * ry);
+		if (!tEnd) e.addSplit(t, point);
+		if (!uEnd) f.addSplit(u, point);
+	}
+
+	/**
+	 * Decides whether a sub-edge is part of the result's boundary.
+	 * 
+	 * @return null if the result is the same on both sides; otherwise, whether
+	 *         the result lies on the left side
+	 */
+	private static Boolean classify(final SubEdge sub, final Polygon a,
+		final Polygon b, final OP op, final double epsilon)
+	{
+		final double dx = sub.q.x - sub.p.x, dy = sub.q.y - sub.p.y;
+		final double length = Math.hypot(dx, dy);
+		final double offset = Math.min(epsilon, length * 1e-3);
+		// NB: The left normal, in a coordinate system with Y pointing down.
+		final double nx = dy / length * offset, ny = -dx / length * offset;
+		final double mx = (sub.p.x + sub.q.x) / 2, my = (sub.p.y + sub.q.y) / 2;
+		final boolean left = apply(op, a.contains(mx + nx, my + ny), b.contains(
+			mx + nx, my + ny));
+		final boolean right = apply(op, a.contains(mx - nx, my - ny), b.contains(
+			mx - nx, my - ny));
+		return left == right ? null : left;
+	}
+
+	private static boolean apply(final OP op, final boolean a, final boolean b) {
+		switch (op) {
+			case ADD:
+				return a || b;
+			case XOR:
+				return a != b;
+			case INTERSECT:
+				return a && b;
+			case SUBTRACT:
+				return a && !b;
+		}
+		throw new IllegalArgumentException("Unknown operation: " + op);
+	}
+
+	/** Links oriented sub-edges into closed rings. */
+	private static GeneralPath link(final List<SubEdge> edges) {
+		final Map<Point2D.Double, Deque<SubEdge>> outgoing = new HashMap<>();
+		for (final SubEdge edge : edges) {
+			Deque<SubEdge> list = outgoing.get(edge.p);
+			if (list == null) {
+				list = new ArrayDeque<>();
+				outgoing.put(edge.p, list);
+			}
+			list.add(edge);
+		}
+		final GeneralPath path = new GeneralPath(Path2D.WIND_EVEN_ODD);
+		final Set<SubEdge> used = new HashSet<>();
+		for (final SubEdge first : edges) {
+			if (!used.add(first)) continue;
+			outgoing.get(first.p).remove(first);
+			path.moveTo(first.p.x, first.p.y);
+			SubEdge edge = first;
+			while (!edge.q.equals(first.p)) {
+				final Deque<SubEdge> next = outgoing.get(edge.q);
+				if (next == null || next.isEmpty()) break; // NB: Dangling.
+				edge = next.poll();
+				used.add(edge);
+				path.lineTo(edge.p.x, edge.p.y);
+			}
+			path.closePath();
+		}
+		return path;
+	}
+
+	// -- Helper classes --
+
+	/** The straight edges of a shape, bucketed by Y for inside tests. */
+	private static class Polygon {
+
+		private final List<Edge> edges = new ArrayList<>();
+		private final Rectangle2D bounds;
+		private final boolean evenOdd;
+
+		private double bucketY, bucketHeight;
+		private Edge[][] buckets;
+
+		public Polygon(final Shape shape) {
+			final PathIterator iter = shape.getPathIterator(null);
+			evenOdd = iter.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+			final double[] segment = new double[6];
+			Point2D.Double start = null, last = null;
+			for (; !iter.isDone(); iter.next()) {
+				final int type = iter.currentSegment(segment);
+				switch (type) {
+					case PathIterator.SEG_MOVETO:
+						close(last, start);
+						start = last = new Point2D.Double(segment[0], segment[1]);
+						break;
+					case PathIterator.SEG_LINETO:
+						final Point2D.Double p = new Point2D.Double(segment[0], segment[1]);
+						addEdge(last, p);
+						last = p;
+						break;
+					case PathIterator.SEG_CLOSE:
+						close(last, start);
+						last = start;
+						break;
+					default:
+						throw new IllegalArgumentException("Curved segments unsupported");
+				}
+			}
+			close(last, start);
+			bounds = shape.getBounds2D();
+			buildBuckets();
+		}
+
+		/** Checks whether the given point lies inside, per the winding rule. */
+		public boolean contains(final double x, final double y) {
+			if (buckets == null) return false;
+			final int index = (int) Math.floor((y - bucketY) / bucketHeight);
+			if (index < 0 || index >= buckets.length) return false;
+			int winding = 0;
+			for (final Edge edge : buckets[index]) {
+				if (edge.y1 <= y == edge.y2 <= y) continue; // not spanning y
+				final double xCross = edge.x1 + (y - edge.y1) * (edge.x2 - edge.x1) /
+					(edge.y2 - edge.y1);
+				if (xCross < x) winding += edge.y2 > edge.y1 ? 1 : -1;
+			}
+			return evenOdd ? (winding & 1) != 0 : winding != 0;
+		}
+
+		private void close(final Point2D.Double last, final Point2D.Double start) {
+			if (last != null && start != null && !last.equals(start)) {
+				addEdge(last, start);
+			}
+		}
+
+		private void addEdge(final Point2D.Double p, final Point2D.Double q) {
+			if (p == null || p.equals(q)) return;
+			edges.add(new Edge(p, q));
+		}
+
+		private void buildBuckets() {
+			if (edges.isEmpty()) return;
+			double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+			for (final Edge edge : edges) {
+				minY = Math.min(minY, edge.minY);
+				maxY = Math.max(maxY, edge.maxY);
+			}
+			final int count = (int) Math.max(1, Math.sqrt(edges.size()) * 2);
+			bucketY = minY;
+			bucketHeight = Math.max((maxY - minY) / count, Double.MIN_NORMAL);
+			final List<List<Edge>> lists = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				lists.add(new ArrayList<Edge>());
+			}
+			for (final Edge edge : edges) {
+				final int first = bucket(edge.minY, count);
+				final int last = bucket(edge.maxY, count);
+				for (int i = first; i <= last; i++) {
+					lists.get(i).add(edge);
+				}
+			}
+			buckets = new Edge[count][];
+			for (int i = 0; i < count; i++) {
+				buckets[i] = lists.get(i).toArray(new Edge[lists.get(i).size()]);
+			}
+		}
+
+		private int bucket(final double y, final int count) {
+			final int index = (int) Math.floor((y - bucketY) / bucketHeight);
+			return index < 0 ? 0 : index >= count ? count - 1 : index;
+		}
+	}
+
+	/**
+	 * The vertices created so far, hashed on a fine grid so that nearly
+	 * coincident intersections (e.g. of one edge with several collinear ones)
+	 * resolve to the same point.
+	 */
+	private static class Vertices {
+
+		private final Map<Long, List<Point2D.Double>> cells = new HashMap<>();
+		private final double tolerance;
+
+		public Vertices(final List<Edge> edges, final double tolerance) {
+			this.tolerance = tolerance;
+			for (final Edge edge : edges) {
+				add(edge.p1);
+				add(edge.p2);
+			}
+		}
+
+		/** Gets the vertex near the given coordinates, creating it if needed. */
+		public Point2D.Double get(final double x, final double y) {
+			final long cx = cell(x), cy = cell(y);
+			for (long i = cx - 1; i <= cx + 1; i++) {
+				for (long j = cy - 1; j <= cy + 1; j++) {
+					final List<Point2D.Double> points = cells.get(key(i, j));
+					if (points == null) continue;
+					for (final Point2D.Double point : points) {
+						if (Math.abs(point.x - x) <= tolerance && Math.abs(point.y -
+							y) <= tolerance) return point;
+					}
+				}
+			}
+			final Point2D.Double point = new Point2D.Double(x, y);
+			add(point);
+			return point;
+		}
+
+		private void add(final Point2D.Double point) {
+			final Long key = key(cell(point.x), cell(point.y));
+			List<Point2D.Double> points = cells.get(key);
+			if (points == null) {
+				points = new ArrayList<>(1);
+				cells.put(key, points);
+			}
+			points.add(point);
+		}
+
+		private long cell(final double value) {
+			return (long) Math.floor(value / tolerance);
+		}
+
+		private static Long key(final long i, final long j) {
+			return i * 0x9E3779B97F4A7C15L ^ j;
+		}
+	}
+
+	/** An input edge, along with the points at which it must be split. */
+	private static class Edge {
+
+		private final Point2D.Double p1, p2;
+		private final double x1, y1, x2, y2;
+		private final double minX, minY, maxX, maxY;
+
+		/** Split parameters along the edge, parallel to {@link #splitPoints}. */
+		private double[] splitParams = new double[0];
+		private final List<Point2D.Double> splitPoints = new ArrayList<>(0);
+
+		/** The points of the split edge, in order, once sorted. */
+		private List<Point2D.Double> points;
+
+		public Edge(final Point2D.Double p1, final Point2D.Double p2) {
+			this.p1 = p1;
+			this.p2 = p2;
+			x1 = p1.x;
+			y1 = p1.y;
+			x2 = p2.x;
+			y2 = p2.y;
+			minX = Math.min(x1, x2);
+			maxX = Math.max(x1, x2);
+			minY = Math.min(y1, y2);
+			maxY = Math.max(y1, y2);
+		}
+
+		public void addSplit(final double t, final Point2D.Double point) {
+			final int n = splitPoints.size();
+			if (n == splitParams.length) {
+				splitParams = Arrays.copyOf(splitParams, Math.max(4, 2 * n));
+			}
+			splitParams[n] = t;
+			splitPoints.add(point);
+		}
+
+		/** Splits the edge at the given point, if it lies strictly inside. */
+		public void splitAtPoint(final Point2D.Double point) {
+			final double dx = x2 - x1, dy = y2 - y1;
+			final double t = ((point.x - x1) * dx + (point.y - y1) * dy) / (dx * dx +
+				dy * dy);
+			if (t <= PARAM_EPSILON || t >= 1 - PARAM_EPSILON) return;
+			addSplit(t, point);
+		}
+
+		public void sortSplits() {
+			final int n = splitPoints.size();
+			final Integer[] order = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+
+				@Override
+				public int compare(final Integer i1, final Integer i2) {
+					return Double.compare(splitParams[i1], splitParams[i2]);
+				}
+			});
+			points = new ArrayList<>(n + 2);
+			points.add(p1);
+			for (final Integer i : order) {
+				final Point2D.Double point = splitPoints.get(i);
+				if (!point.equals(points.get(points.size() - 1))) points.add(point);
+			}
+			if (!p2.equals(points.get(points.size() - 1))) points.add(p2);
+		}
+	}
+
+	/** A piece of an edge between two consecutive split points. */
+	private static class SubEdge {
+
+		private final Point2D.Double p, q;
+
+		public SubEdge(final Point2D.Double p, final Point2D.Double q) {
+			this.p = p;
+			this.q = q;
+		}
+
+		/** Sub-edges are equal if they join the same points, in any direction. */
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof SubEdge)) return false;
+			final SubEdge that = (SubEdge) o;
+			return p.equals(that.p) && q.equals(that.q) || p.equals(that.q) && q
+				.equals(that.p);
+		}
+
+		@Override
+		public int hashCode() {
+			return p.hashCode() ^ q.hashCode();
+		}
+	}
+
+}
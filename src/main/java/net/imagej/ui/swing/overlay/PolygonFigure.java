@@ -35,6 +35,7 @@ import java.util.LinkedList;
 import org.jhotdraw.draw.BezierFigure;
 import org.jhotdraw.draw.handle.BezierOutlineHandle;
 import org.jhotdraw.draw.handle.Handle;
+import org.jhotdraw.geom.BezierPath.Node;
 
 /**
  * TODO
@@ -61,6 +62,31 @@ public class PolygonFigure extends BezierFigure {
 		return handles;
 	}
 
+	// -- PolygonFigure methods --
+
+	/** Gets the X coordinate of the given node, without copying the node. */
+	public double getNodeX(final int index) {
+		return path.get(index).x[0];
+	}
+
+	/** Gets the Y coordinate of the given node, without copying the node. */
+	public double getNodeY(final int index) {
+		return path.get(index).y[0];
+	}
+
+	/**
+	 * Checks, without copying the node, whether the given node is a plain
+	 * polygon vertex (i.e., has no control points) at the given position.
+	 */
+	public boolean isVertexAt(final int index, final double x, final double y) {
+		final Node node = path.get(index);
+		if (node.mask != 0) return false;
+		for (int i = 0; i < node.x.length; i++) {
+			if (node.x[i] != x || node.y[i] != y) return false;
+		}
+		return true;
+	}
+
 	private static final long serialVersionUID = 1L;
 
 }
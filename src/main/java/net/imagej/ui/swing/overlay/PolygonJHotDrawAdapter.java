@@ -30,7 +30,6 @@
 package net.imagej.ui.swing.overlay;
 
 import java.awt.Shape;
-import java.util.Arrays;
 
 import net.imagej.display.ImageDisplay;
 import net.imagej.display.OverlayView;
@@ -59,7 +58,8 @@ import org.scijava.tool.Tool;
  */
 @Plugin(type = JHotDrawAdapter.class, priority = SwingPolygonTool.PRIORITY)
 public class PolygonJHotDrawAdapter extends
-	AbstractJHotDrawAdapter<PolygonOverlay, BezierFigure>
+	AbstractJHotDrawAdapter<PolygonOverlay, BezierFigure> implements
+	ConcurrentJHotDrawAdapter<BezierFigure>
 {
 
 	private static PolygonOverlay downcastOverlay(final Overlay overlay) {
@@ -108,25 +108,30 @@ public class PolygonJHotDrawAdapter extends
 			roi.removeVertex(nodeCount);
 			if (log != null) log.debug("Removed node from overlay.");
 		}
-		for (int i = 0; i < nodeCount; i++) {
-			final Node node = figure.getNode(i);
-			final double[] position = new double[] { node.x[0], node.y[0] };
-			if (roi.getVertexCount() == i) {
-				roi.addVertex(i, new RealPoint(position));
-				if (log != null) log.debug("Added node to overlay");
-			}
-			else {
-				if ((position[0] != roi.getVertex(i).getDoublePosition(0)) ||
-					(position[1] != roi.getVertex(i).getDoublePosition(1)))
+		final int shared = roi.getVertexCount();
+		if (!translateVertices(figure, roi, shared)) {
+			// propagate only the vertices which actually moved
+			final double[] position = new double[2];
+			for (int i = 0; i < shared; i++) {
+				final RealLocalizable vertex = roi.getVertex(i);
+				position[0] = nodeX(figure, i);
+				position[1] = nodeY(figure, i);
+				if (position[0] == vertex.getDoublePosition(0) &&
+					position[1] == vertex.getDoublePosition(1))
 				{
-					if (log != null) {
-						log.debug(String.format("Vertex # %d moved to %f,%f", i + 1,
-							position[0], position[1]));
-					}
+					continue;
+				}
+				if (log != null) {
+					log.debug(String.format("Vertex # %d moved to %f,%f", i + 1,
+						position[0], position[1]));
 				}
 				roi.setVertexPosition(i, position);
 			}
 		}
+		for (int i = shared; i < nodeCount; i++) {
+			roi.addVertex(i, new RealPoint(nodeX(figure, i), nodeY(figure, i)));
+			if (log != null) log.debug("Added node to overlay");
+		}
 		poverlay.update();
 	}
 
@@ -146,11 +151,9 @@ public class PolygonJHotDrawAdapter extends
 			if (figure.getNodeCount() == i) {
 				figure.addNode(new Node(x, y));
 			}
-			else {
-				final Node node = figure.getNode(i);
-				node.mask = 0;
-				Arrays.fill(node.x, x);
-				Arrays.fill(node.y, y);
+			else if (!isVertexAt(figure, i, x, y)) {
+				// NB: replace only the nodes which actually differ
+				figure.setNode(i, new Node(x, y));
 			}
 		}
 	}
@@ -165,4 +168,63 @@ public class PolygonJHotDrawAdapter extends
 		return figure.getBezierPath().toGeneralPath();
 	}
 
+	// -- Helper methods --
+
+	/**
+	 * Moves all vertices of the ROI at once, if the figure's first nodes are
+	 * exactly the ROI's vertices translated by a common, nonzero offset.
+	 * 
+	 * @return true iff the vertices were translated
+	 */
+	private static boolean translateVertices(final BezierFigure figure,
+		final PolygonRegionOfInterest roi, final int count)
+	{
+		if (count == 0) return false;
+		final RealLocalizable first = roi.getVertex(0);
+		final double dx = nodeX(figure, 0) - first.getDoublePosition(0);
+		final double dy = nodeY(figure, 0) - first.getDoublePosition(1);
+		if (dx == 0 && dy == 0) return false;
+		for (int i = 0; i < count; i++) {
+			final RealLocalizable vertex = roi.getVertex(i);
+			if (nodeX(figure, i) != vertex.getDoublePosition(0) + dx ||
+				nodeY(figure, i) != vertex.getDoublePosition(1) + dy)
+			{
+				return false;
+			}
+		}
+		roi.move(dx, 0);
+		roi.move(dy, 1);
+		return true;
+	}
+
+	// NB: PolygonFigure exposes its nodes without cloning them.
+
+	private static double nodeX(final BezierFigure figure, final int index) {
+		if (figure instanceof PolygonFigure) {
+			return ((PolygonFigure) figure).getNodeX(index);
+		}
+		return figure.getNode(index).x[0];
+	}
+
+	private static double nodeY(final BezierFigure figure, final int index) {
+		if (figure instanceof PolygonFigure) {
+			return ((PolygonFigure) figure).getNodeY(index);
+		}
+		return figure.getNode(index).y[0];
+	}
+
+	private static boolean isVertexAt(final BezierFigure figure,
+		final int index, final double x, final double y)
+	{
+		if (figure instanceof PolygonFigure) {
+			return ((PolygonFigure) figure).isVertexAt(index, x, y);
+		}
+		final Node node = figure.getNode(index);
+		if (node.mask != 0) return false;
+		for (int i = 0; i < node.x.length; i++) {
+			if (node.x[i] != x || node.y[i] != y) return false;
+		}
+		return true;
+	}
+
 }
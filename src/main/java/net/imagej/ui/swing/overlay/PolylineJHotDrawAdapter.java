@@ -30,7 +30,6 @@
 package net.imagej.ui.swing.overlay;
 
 import java.awt.Shape;
-import java.awt.geom.PathIterator;
 
 import net.imagej.display.ImageDisplay;
 import net.imagej.display.OverlayView;
@@ -41,6 +40,7 @@ import net.imglib2.roi.GeneralPathRegionOfInterest;
 
 import org.jhotdraw.draw.BezierFigure;
 import org.jhotdraw.draw.Figure;
+import org.jhotdraw.geom.BezierPath;
 import org.jhotdraw.geom.BezierPath.Node;
 import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
@@ -92,11 +92,7 @@ public class PolylineJHotDrawAdapter extends
 		final GeneralPathOverlay gpo = (GeneralPathOverlay) view.getData();
 		final GeneralPathRegionOfInterest gpr = gpo.getRegionOfInterest();
 		gpr.reset();
-		for (int i = 0; i < figure.getNodeCount(); i++) {
-			final Node n = figure.getNode(i);
-			if (i == 0) gpr.moveTo(n.x[0], n.y[0]);
-			else gpr.lineTo(n.x[0], n.y[0]);
-		}
+		BezierPathFunctions.addToRegionOfInterest(figure.getBezierPath(), gpr);
 		gpo.update();
 	}
 
@@ -106,20 +102,19 @@ public class PolylineJHotDrawAdapter extends
 		assert view.getData() instanceof GeneralPathOverlay;
 		final GeneralPathOverlay gpo = (GeneralPathOverlay) view.getData();
 		final GeneralPathRegionOfInterest gpr = gpo.getRegionOfInterest();
-		final PathIterator pi = gpr.getGeneralPath().getPathIterator(null);
-		final int nCount = figure.getNodeCount();
-		int i = 0;
-		final double[] pos = new double[6];
-		while (!pi.isDone()) {
-			pi.currentSegment(pos);
-			final Node n = new Node(pos[0], pos[1]);
-			if (i < nCount) figure.getNode(i).setTo(n);
-			else figure.addNode(n);
-			pi.next();
-			i++;
+		final BezierPath path = BezierPathFunctions.toBezierPath(gpr);
+		if (path.size() != figure.getNodeCount() ||
+			path.isClosed() != figure.isClosed())
+		{
+			// the topology changed; replace the whole path
+			figure.setBezierPath(path);
+			return;
+		}
+		// NB: replace only the nodes which actually differ
+		for (int i = 0; i < path.size(); i++) {
+			final Node node = path.get(i);
+			if (!node.equals(figure.getNode(i))) figure.setNode(i, node);
 		}
-		while (i < figure.getNodeCount())
-			figure.removeNode(i);
 	}
 
 	@Override
@@ -57,7 +57,8 @@ import org.scijava.util.RealCoords;
  */
 @Plugin(type = JHotDrawAdapter.class, priority = SwingRectangleTool.PRIORITY)
 public class RectangleJHotDrawAdapter extends
-	AbstractJHotDrawAdapter<RectangleOverlay, RectangleFigure>
+	AbstractJHotDrawAdapter<RectangleOverlay, RectangleFigure> implements
+	ConcurrentJHotDrawAdapter<RectangleFigure>
 {
 
 	protected static RectangleOverlay downcastOverlay(final Overlay roi) {
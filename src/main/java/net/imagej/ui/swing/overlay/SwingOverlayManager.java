@@ -34,6 +34,7 @@ import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.GridLayout;
+import java.awt.Shape;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
@@ -46,7 +47,9 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -55,8 +58,10 @@ import java.util.Stack;
 import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFrame;
 import javax.swing.JList;
 import javax.swing.JMenuItem;
@@ -82,7 +87,9 @@ import net.imagej.event.OverlayRestructuredEvent;
 import net.imagej.event.OverlayUpdatedEvent;
 import net.imagej.options.OptionsChannels;
 import net.imagej.overlay.CompositeOverlay;
+import net.imagej.overlay.GeneralPathOverlay;
 import net.imagej.overlay.Overlay;
+import net.imglib2.roi.GeneralPathRegionOfInterest;
 
 import org.scijava.Context;
 import org.scijava.command.CommandService;
@@ -130,6 +137,7 @@ public class SwingOverlayManager
 	private static final String ACTION_HELP = "help";
 	private static final String ACTION_LIST = "list";
 	private static final String ACTION_MEASURE = "measure";
+	private static final String ACTION_MERGE_INTO_PATH = "merge into path";
 	private static final String ACTION_MULTI_MEASURE = "multi measure";
 	private static final String ACTION_MULTI_PLOT = "multi plot";
 	private static final String ACTION_OPEN = "open";
@@ -151,6 +159,7 @@ public class SwingOverlayManager
 	// -- instance variables --
 	
 	private final Context context;
+	private final OverlayListModel listModel;
 	private final JList<OverlayInfo> jlist;
 	private final JCheckBox showAllCheckBox;
 	private final JCheckBox editModeCheckBox;
@@ -174,6 +183,9 @@ public class SwingOverlayManager
 	private OptionsService optionsService;
 
 	private boolean selecting = false; // flag to prevent event feedback loops
+	// whether AND, OR and XOR merge the overlays into one flat path overlay,
+	// instead of combining them into a composite overlay
+	private boolean mergeIntoPath = false;
 	private JPopupMenu popupMenu = null;
 	private boolean shiftDown = false;
 	private boolean altDown = false;
@@ -187,8 +199,10 @@ public class SwingOverlayManager
 		this.context = context;
 		context.inject(this);
 
-		jlist = new JList<>(new OverlayListModel(overlayService.getOverlayInfo()));
+		listModel = new OverlayListModel(overlayService.getOverlayInfo());
+		jlist = new JList<>(listModel);
 		//jlist.setCellRenderer(new OverlayRenderer());
+		setFixedCellHeight();
 
 		final JScrollPane listScroller = new JScrollPane(jlist);
 		listScroller.setPreferredSize(new Dimension(250, 80));
@@ -276,6 +290,8 @@ public class SwingOverlayManager
 			getList();
 		else if (command.equals(ACTION_MEASURE))
 			measure();
+		else if (command.equals(ACTION_MERGE_INTO_PATH))
+			mergeIntoPath = ((JCheckBoxMenuItem) e.getSource()).isSelected();
 		else if (command.equals(ACTION_MULTI_MEASURE))
 			multiMeasure();
 		else if (command.equals(ACTION_MULTI_PLOT))
@@ -309,24 +325,125 @@ public class SwingOverlayManager
 	// -- private helpers for overlay list maintenance --
 
 	
+	/**
+	 * Presents the {@link OverlayInfoList} to the {@link JList}. Rather than
+	 * having the list rebuilt on every change, it is told exactly which rows
+	 * were added, removed or changed; and overlays are looked up by identity
+	 * instead of by scanning the list.
+	 */
 	private class OverlayListModel extends AbstractListModel<OverlayInfo> {
 
 		//private static final long serialVersionUID = 7941252533859436640L;
 
-		private OverlayInfoList overlayInfoList;
+		private final OverlayInfoList overlayInfoList;
+
+		/** Position of each listed overlay, rebuilt lazily after a refresh. */
+		private final Map<Object, Integer> indices = new IdentityHashMap<>();
+		private boolean indexed = false;
+
+		/** Number of rows the list has been told about. */
+		private int size;
 		
 		public OverlayListModel(OverlayInfoList list) {
 			overlayInfoList = list;
+			size = list.getOverlayInfoCount();
 		}
 		
 		@Override
 		public OverlayInfo getElementAt(final int index) {
+			// NB: The list may ask for a row removed but not yet reported.
+			if (index >= overlayInfoList.getOverlayInfoCount()) return null;
 			return overlayInfoList.getOverlayInfo(index);
 		}
 
 		@Override
 		public int getSize() {
-			return overlayInfoList.getOverlayInfoCount();
+			return size;
+		}
+
+		/** Gets the row of the given overlay, or -1 if it is not listed. */
+		public int indexOf(final Object overlay) {
+			if (!indexed) reindex();
+			Integer index = indices.get(overlay);
+			// NB: The overlay info list is shared, so other clients may have
+			// changed it behind our back. Verify the row found, and rebuild the
+			// index if it turns out to be stale.
+			final boolean stale = index == null ? indices.size() != overlayInfoList
+				.getOverlayInfoCount() : !isAt(overlay, index);
+			if (stale) {
+				reindex();
+				index = indices.get(overlay);
+			}
+			return index == null ? -1 : index;
+		}
+
+		/** Reports the rows appended to the overlay info list. */
+		public void added() {
+			final int oldSize = size;
+			final int count = overlayInfoList.getOverlayInfoCount();
+			if (count < oldSize) {
+				refresh();
+				return;
+			}
+			if (count == oldSize) return;
+			size = count;
+			if (indexed) {
+				for (int i = oldSize; i < count; i++) {
+					indices.put(overlayInfoList.getOverlayInfo(i).getOverlay(), i);
+				}
+			}
+			fireIntervalAdded(this, oldSize, count - 1);
+		}
+
+		/**
+		 * Reports the removal of the given overlay, formerly at the given row,
+		 * from the overlay info list.
+		 */
+		public void removed(final Object overlay, final int index) {
+			final int count = overlayInfoList.getOverlayInfoCount();
+			if (index < 0 || count != size - 1) {
+				refresh();
+				return;
+			}
+			size = count;
+			if (indexed) {
+				// NB: Only the later rows have moved up; the others stay put.
+				indices.remove(overlay);
+				for (int i = index; i < count; i++) {
+					indices.put(overlayInfoList.getOverlayInfo(i).getOverlay(), i);
+				}
+			}
+			fireIntervalRemoved(this, index, index);
+		}
+
+		/** Reports a change to the row of the given overlay. */
+		public void changed(final Object overlay) {
+			final int index = indexOf(overlay);
+			if (index >= 0 && index < size) fireContentsChanged(this, index, index);
+		}
+
+		private void reindex() {
+			indices.clear();
+			for (int i = 0; i < overlayInfoList.getOverlayInfoCount(); i++) {
+				indices.put(overlayInfoList.getOverlayInfo(i).getOverlay(), i);
+			}
+			indexed = true;
+		}
+
+		private boolean isAt(final Object overlay, final int index) {
+			final OverlayInfo info = getElementAt(index);
+			return info != null && info.getOverlay() == overlay;
+		}
+
+		/** Reports that any row may have changed, e.g. after sorting. */
+		public void refresh() {
+			final int oldSize = size;
+			final int count = overlayInfoList.getOverlayInfoCount();
+			size = count;
+			indexed = false;
+			if (count < oldSize) fireIntervalRemoved(this, count, oldSize - 1);
+			else if (count > oldSize) fireIntervalAdded(this, oldSize, count - 1);
+			if (count > 0) fireContentsChanged(this, 0, count - 1);
 		}
 
 	}
@@ -336,21 +453,22 @@ public class SwingOverlayManager
 	private void populateOverlayList() {
 		// Populate the list with all overlays
 		for (final Overlay overlay : overlayService.getOverlays()) {
-			boolean found = false;
-			int totOverlays = overlayService.getOverlayInfo().getOverlayInfoCount();
-			for (int i = 0; i < totOverlays; i++) {
-				OverlayInfo info = overlayService.getOverlayInfo().getOverlayInfo(i);
-				if (overlay == info.getOverlay()) {
-					found = true;
-					break;
-				}
-			}
-			if (!found) {
+			if (listModel.indexOf(overlay) < 0) {
 				OverlayInfo info = new OverlayInfo(overlay);
 				overlayService.getOverlayInfo().addOverlayInfo(info);
+				listModel.added();
 			}
 		}
-		jlist.updateUI();
+	}
+
+	/**
+	 * Fixes the height of the list cells, so that the list can find the visible
+	 * rows without measuring every one of them.
+	 */
+	private void setFixedCellHeight() {
+		final Component cell = new DefaultListCellRenderer()
+			.getListCellRendererComponent(jlist, "Overlay", 0, false, false);
+		jlist.setFixedCellHeight(cell.getPreferredSize().height);
 	}
 	
 	/*
@@ -394,17 +512,18 @@ public class SwingOverlayManager
 	protected void onEvent(final OverlayCreatedEvent event) {
 		//System.out.println("\tCREATED: " + event.toString());
 		overlayService.getOverlayInfo().addOverlay(event.getObject());
-		jlist.updateUI();
+		listModel.added();
 	}
 
 	@EventHandler
 	protected void onEvent(final OverlayDeletedEvent event) {
 		//System.out.println("\tDELETED: " + event.toString());
 		Overlay overlay = event.getObject();
+		final int index = listModel.indexOf(overlay);
 		overlayService.getOverlayInfo().deleteOverlay(overlay);
+		listModel.removed(overlay, index);
 		int[] newSelectedIndices = overlayService.getOverlayInfo().selectedIndices();
 		jlist.setSelectedIndices(newSelectedIndices);
-		jlist.updateUI();
 	}
 	
 	/*
@@ -423,8 +542,12 @@ public class SwingOverlayManager
 		selecting = true;
 		// Select or deselect the corresponding overlay in the list
 		final Overlay overlay = (Overlay) event.getView().getData();
-		final int overlayIndex = overlayService.getOverlayInfo().findIndex(overlay);
-		final OverlayInfo overlayInfo = overlayService.getOverlayInfo().getOverlayInfo(overlayIndex);
+		final int overlayIndex = listModel.indexOf(overlay);
+		if (overlayIndex < 0) {
+			selecting = false;
+			return; // not listed
+		}
+		final OverlayInfo overlayInfo = listModel.getElementAt(overlayIndex);
 		overlayInfo.setSelected(event.isSelected());
 		/* old way
 		if (event.isSelected()) {
@@ -437,11 +560,7 @@ public class SwingOverlayManager
 			jlist.setSelectedIndices(sel);
 		}
 		else {
-			for (final int i : jlist.getSelectedIndices()) {
-				if (jlist.getModel().getElementAt(i) == overlayInfo) {
-					jlist.removeSelectionInterval(i, i);
-				}
-			}
+			jlist.removeSelectionInterval(overlayIndex, overlayIndex);
 		}
 		*/
 		int[] selections = overlayService.getOverlayInfo().selectedIndices();
@@ -465,18 +584,16 @@ public class SwingOverlayManager
 	}
 	*/
 	
-	@SuppressWarnings("unused")
 	@EventHandler
 	protected void onEvent(OverlayRestructuredEvent event) {
 		//System.out.println("restructured");
-		jlist.updateUI();
+		listModel.changed(event.getObject());
 	}
 
-	@SuppressWarnings("unused")
 	@EventHandler
 	protected void onEvent(OverlayUpdatedEvent event) {
 		//System.out.println("updated");
-		jlist.updateUI();
+		listModel.changed(event.getObject());
 	}
 
 	// -- private helpers that implement overlay interaction commands --
@@ -660,7 +777,7 @@ public class SwingOverlayManager
 			info.getOverlay().setName(null);
 		else
 			info.getOverlay().setName(name);
-		jlist.updateUI();
+		listModel.changed(info.getOverlay());
 	}
 	
 	private void save() {
@@ -707,9 +824,9 @@ public class SwingOverlayManager
 	
 	private void sort() {
 		overlayService.getOverlayInfo().sort();
+		listModel.refresh();
 		int[] newSelections = overlayService.getOverlayInfo().selectedIndices();
 		jlist.setSelectedIndices(newSelections);
-		jlist.updateUI();
 	}
 	
 	private void specify() {
@@ -874,6 +991,7 @@ public class SwingOverlayManager
 		menu.add(getAndMenuItem());
 		menu.add(getOrMenuItem());
 		menu.add(getXorMenuItem());
+		menu.add(getMergeIntoPathMenuItem());
 		menu.add(getDivideMenuItem());
 		menu.add(getAddParticlesMenuItem());
 		menu.add(getMultiMeasureMenuItem());
@@ -935,6 +1053,15 @@ public class SwingOverlayManager
 		return item;
 	}
 	
+	private JMenuItem getMergeIntoPathMenuItem() {
+		final JCheckBoxMenuItem item;
+		item = new JCheckBoxMenuItem("Merge AND/OR/XOR Into One Path");
+		item.setSelected(mergeIntoPath);
+		item.setActionCommand(ACTION_MERGE_INTO_PATH);
+		item.addActionListener(this);
+		return item;
+	}
+	
 	private JMenuItem getOpenMenuItem() {
 		final JMenuItem item;
 		item = new JMenuItem("Open...");
@@ -1163,11 +1290,58 @@ public class SwingOverlayManager
 				return;
 		}
 		// else overlays.size() >= 2
+		if (mergeIntoPath) {
+			final List<Shape> shapes = getShapes(overlays);
+			final GeneralPathRegionOfInterest roi =
+				shapes == null ? null : combine(op, shapes);
+			if (roi != null) {
+				final GeneralPathOverlay pathOverlay =
+					new GeneralPathOverlay(context, roi);
+				imageDisplay.display(pathOverlay);
+				imageDisplay.update();
+				return;
+			}
+		}
 		CompositeOverlay newOverlay = new CompositeOverlay(context);
 		for (Overlay o : overlays)
 			newOverlay.doOperation(op, o);
 		imageDisplay.display(newOverlay);
 		imageDisplay.update();
 	}
+
+	/**
+	 * Merges all the given outlines at once, rather than nesting them one by
+	 * one, or returns null if the operation cannot be done that way.
+	 */
+	private GeneralPathRegionOfInterest combine(
+		final CompositeOverlay.Operation op, final List<Shape> shapes)
+	{
+		switch (op) {
+			case AND:
+				return BezierPathFunctions.intersection(shapes);
+			case OR:
+				return BezierPathFunctions.union(shapes);
+			case XOR:
+				return BezierPathFunctions.toRegionOfInterest(BezierPathFunctions.op(
+					shapes, BezierPathFunctions.OP.XOR,
+					BezierPathFunctions.Engine.POLYGON));
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Gets the areas enclosed by the given overlays, or null if any of them does
+	 * not enclose an area which can be described by a path.
+	 */
+	private List<Shape> getShapes(final List<Overlay> overlays) {
+		final List<Shape> shapes = new ArrayList<>(overlays.size());
+		for (final Overlay overlay : overlays) {
+			final Shape shape = BezierPathFunctions.toShape(overlay);
+			if (shape == null) return null;
+			shapes.add(shape);
+		}
+		return shapes;
+	}
 	
 }
@@ -30,6 +30,7 @@
 package net.imagej.ui.swing.overlay;
 
 import java.awt.Color;
+import java.awt.EventQueue;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
@@ -64,6 +65,7 @@ public class ThresholdFigure extends AbstractAttributedFigure implements
 	private final Dataset dataset;
 	private final ThresholdOverlay overlay;
 	private final Rectangle2D.Double rect;
+	private final ThresholdRasterizer rasterizer;
 	private double[] tmpPos;
 	
 	public ThresholdFigure(ImageDisplay display, Dataset dataset,
@@ -73,6 +75,20 @@ public class ThresholdFigure extends AbstractAttributedFigure implements
 		this.dataset = dataset;
 		this.overlay = overlay;
 		this.rect = new Rectangle2D.Double();
+		this.rasterizer = new ThresholdRasterizer(dataset, overlay, new Runnable() {
+
+			@Override
+			public void run() {
+				// the rest of the plane has been classified; repaint it
+				EventQueue.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+						fireAreaInvalidated();
+					}
+				});
+			}
+		});
 		setAttributeEnabled(AttributeKeys.FILL_COLOR, true);
 		setAttributeEnabled(AttributeKeys.STROKE_COLOR, false);
 		setAttributeEnabled(AttributeKeys.TEXT_COLOR, false);
@@ -146,6 +162,35 @@ public class ThresholdFigure extends AbstractAttributedFigure implements
 
 	@Override
 	protected void drawFill(final Graphics2D g) {
+		// classify the visible region in bulk, then draw it all at once
+		if (!rasterizer.draw(g, getViewedPosition())) drawFillPerPixel(g);
+	}
+
+	// -- ThresholdFigure methods --
+
+	/**
+	 * Discards the cached classification of the viewed plane, e.g. because the
+	 * underlying data values have changed.
+	 */
+	public void invalidate() {
+		rasterizer.invalidate();
+	}
+
+	// -- Displayable --
+
+	@Override
+	public void draw() {
+		rasterizer.invalidate();
+		// OLD WAY : likely wrong
+		// fireFigureChanged();
+		// NEW WAY
+		fireAreaInvalidated();
+	}
+
+	// -- helpers --
+
+	/** Fills each classified pixel individually; used for huge planes. */
+	private void drawFillPerPixel(final Graphics2D g) {
 		final Color origC = g.getColor();
 		final Color withinColor = AWTColors.getColor(overlay.getColorWithin());
 		final Color lessColor = AWTColors.getColor(overlay.getColorLess());
@@ -183,18 +228,15 @@ public class ThresholdFigure extends AbstractAttributedFigure implements
 		g.setColor(origC);
 	}
 
-	// -- Displayable --
-
-	@Override
-	public void draw() {
-		// OLD WAY : likely wrong
-		// fireFigureChanged();
-		// NEW WAY
-		fireAreaInvalidated();
+	private long[] getViewedPosition() {
+		long[] pos = new long[dataset.numDimensions()];
+		for (int i = 2; i < pos.length; i++) {
+			AxisType axisType = dataset.axis(i).type();
+			pos[i] = display.getLongPosition(axisType);
+		}
+		return pos;
 	}
 
-	// -- helpers --
-
 	private PointSet getViewedPlane() {
 		long[] pt1 = new long[dataset.numDimensions()];
 		long[] pt2 = pt1.clone();
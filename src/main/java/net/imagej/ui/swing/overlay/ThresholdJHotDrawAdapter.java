@@ -34,6 +34,7 @@ import java.awt.Shape;
 import net.imagej.Dataset;
 import net.imagej.display.ImageDisplay;
 import net.imagej.display.ImageDisplayService;
+import net.imagej.display.OverlayView;
 import net.imagej.overlay.Overlay;
 import net.imagej.overlay.ThresholdOverlay;
 import net.imagej.threshold.ThresholdService;
@@ -92,6 +93,15 @@ public class ThresholdJHotDrawAdapter extends
 		return new ThresholdFigure(display, dataset, overlay);
 	}
 
+	@Override
+	public void updateFigure(final OverlayView view,
+		final ThresholdFigure figure)
+	{
+		super.updateFigure(view, figure);
+		// NB: The display is being updated, so the data may have changed.
+		figure.invalidate();
+	}
+
 	@Override
 	public JHotDrawTool getCreationTool(ImageDisplay display) {
 		return new IJCreationTool<>(display, this);
@@ -0,0 +1,400 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import net.imagej.Dataset;
+import net.imagej.overlay.ThresholdOverlay;
+import net.imglib2.RandomAccess;
+import net.imglib2.type.numeric.RealType;
+
+import org.scijava.ui.awt.AWTColors;
+
+/**
+ * Classifies the viewed plane of a {@link ThresholdOverlay} into a cached
+ * indexed-color mask image, which can be painted with a single
+ * {@code drawImage} call.
+ * <p>
+ * Only the region around the current clip is classified. When zoomed out, a
+ * downsampled grid of roughly one sample per screen pixel is classified rather
+ * than every data element, so the cost of a repaint scales with the size of
+ * the screen rather than with the size of the plane.
+ * </p>
+ * <p>
+ * The classification is only recomputed when the plane position, threshold
+ * range or sampling step changes, when the clip leaves the classified region,
+ * or when the mask is explicitly {@link #invalidate()}d. A change of colors
+ * merely swaps the color model of the mask.
+ * </p>
+ * <p>
+ * Classification reads the typed data values straight from the
+ * {@link Dataset}, in parallel over bands of rows. The rows of the clip are
+ * classified first, before the mask is drawn; the remaining rows are then
+ * classified in the background, after which the {@code onComplete} callback
+ * is notified.
+ * </p>
+ */
+class ThresholdRasterizer {
+
+	/** Class index of data values which are not a number. */
+	private static final byte NONE = 0;
+
+	/** Class index of data values below the threshold range. */
+	private static final byte LESS = 1;
+
+	/** Class index of data values within the threshold range. */
+	private static final byte WITHIN = 2;
+
+	/** Class index of data values above the threshold range. */
+	private static final byte GREATER = 3;
+
+	/** Minimum number of samples classified by a single task. */
+	private static final int MIN_SAMPLES_PER_TASK = 1 << 16;
+
+	private final Dataset dataset;
+	private final ThresholdOverlay overlay;
+	private final Runnable onComplete;
+
+	/**
+	 * Number of the latest classification; bands belonging to an older one
+	 * stop early.
+	 */
+	private volatile int generation;
+
+	/** The latest classification, which is the one being drawn. */
+	private Mask mask;
+
+	/** The mask as drawn, with the current colors; shares the mask's raster. */
+	private BufferedImage image;
+
+	// -- cache keys --
+
+	private Color lessColor, withinColor, greaterColor;
+	private boolean dirty = true;
+
+	/**
+	 * @param onComplete Callback invoked, from a worker thread, when a
+	 *          background classification has finished.
+	 */
+	public ThresholdRasterizer(final Dataset dataset,
+		final ThresholdOverlay overlay, final Runnable onComplete)
+	{
+		this.dataset = dataset;
+		this.overlay = overlay;
+		this.onComplete = onComplete;
+	}
+
+	// -- ThresholdRasterizer methods --
+
+	/** Forces the mask to be reclassified the next time it is drawn. */
+	public void invalidate() {
+		dirty = true;
+	}
+
+	/**
+	 * Draws the mask of the given plane, reclassifying it as needed.
+	 * 
+	 * @param g The graphics to draw to, whose clip and transform determine the
+	 *          region and sampling step to classify.
+	 * @param position The full position of the plane; the first two elements
+	 *          (X and Y) are ignored.
+	 * @return False if the region is too large to be rasterized, in which case
+	 *         nothing was drawn.
+	 */
+	public boolean draw(final Graphics2D g, final long[] position) {
+		final long w = dataset.dimension(0), h = dataset.dimension(1);
+		final Rectangle plane = new Rectangle(0, 0, (int) Math.min(w,
+			Integer.MAX_VALUE), (int) Math.min(h, Integer.MAX_VALUE));
+		final Rectangle clip = g.getClipBounds();
+		final Rectangle visible = clip == null ? plane : clip.intersection(plane);
+		if (visible.isEmpty()) return true; // nothing to draw
+
+		final int step = sampleStep(g.getTransform());
+		final double min = overlay.getRangeMin(), max = overlay.getRangeMax();
+		if (dirty || mask == null || step != mask.step ||
+			!mask.region.contains(visible) || min != mask.rangeMin ||
+			max != mask.rangeMax || !mask.samePlane(position))
+		{
+			final Mask next = reclassify(position, plane, visible, step, min, max);
+			if (next == null) {
+				dirty = true;
+				return false;
+			}
+			mask = next;
+			image = null;
+			dirty = false;
+		}
+
+		final Color less = AWTColors.getColor(overlay.getColorLess());
+		final Color within = AWTColors.getColor(overlay.getColorWithin());
+		final Color greater = AWTColors.getColor(overlay.getColorGreater());
+		// NB: A null color means values of that class are not drawn.
+		if (image == null || !Objects.equals(less, lessColor) ||
+			!Objects.equals(within, withinColor) ||
+			!Objects.equals(greater, greaterColor))
+		{
+			// NB: Shares the raster; only the color model is new.
+			image = new BufferedImage(colorModel(less, within, greater),
+				mask.raster, false, null);
+			lessColor = less;
+			withinColor = within;
+			greaterColor = greater;
+		}
+
+		// NB: Each sample covers a square of step x step data elements.
+		final Rectangle region = mask.region;
+		final int cols = mask.raster.getWidth(), rows = mask.raster.getHeight();
+		g.drawImage(image, region.x, region.y, region.x + region.width, region.y +
+			region.height, 0, 0, cols, rows, null);
+		return true;
+	}
+
+	// -- Helper methods --
+
+	/** Gets the sampling step yielding about one sample per screen pixel. */
+	static int sampleStep(final AffineTransform transform) {
+		final double scale = Math.min(Math.abs(transform.getScaleX()), Math.abs(
+			transform.getScaleY()));
+		if (!(scale > 0) || scale >= 1) return 1;
+		return (int) Math.min(Math.floor(1 / scale), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Chooses a new region around the visible one, then classifies it into a
+	 * new mask. Any background classification of an older mask is superseded,
+	 * without waiting for it: it only ever writes into its own mask.
+	 * 
+	 * @return The new mask, or null if the region is too large to be
+	 *         rasterized.
+	 */
+	private Mask reclassify(final long[] position, final Rectangle plane,
+		final Rectangle visible, final int step, final double min,
+		final double max)
+	{
+		final int gen = ++generation;
+
+		// add a margin, so that small scrolls can reuse the mask
+		final Rectangle r = new Rectangle(visible);
+		r.grow(visible.width / 2, visible.height / 2);
+		r.width = Math.max(0, r.width); // NB: grow may overflow
+		r.height = Math.max(0, r.height);
+		final Rectangle bounds = r.intersection(plane);
+
+		// align the region to the sampling grid, so samples stay put on scroll
+		final int x0 = bounds.x - bounds.x % step;
+		final int y0 = bounds.y - bounds.y % step;
+		final long cols = ((long) bounds.x + bounds.width - x0 + step - 1) / step;
+		final long rows = ((long) bounds.y + bounds.height - y0 + step - 1) / step;
+		if (cols * rows > Integer.MAX_VALUE) return null;
+
+		// NB: The old buffer can only be recycled once nothing writes into it.
+		final int size = (int) (cols * rows);
+		final boolean idle = mask != null &&
+			(mask.pending == null || mask.pending.isDone());
+		final byte[] classes = idle && mask.classes.length >= size ? mask.classes
+			: new byte[size];
+		final Mask next = new Mask(gen, classes, (int) cols, (int) rows, step,
+			new Rectangle(x0, y0, (int) Math.min(cols * step, plane.width - x0),
+				(int) Math.min(rows * step, plane.height - y0)), position.clone(),
+			min, max);
+
+		// classify the rows of the visible region first
+		final int startRow = (visible.y - y0) / step;
+		final int endRow = (int) Math.min(rows, ((long) visible.y +
+			visible.height - y0 + step - 1) / step);
+		classify(next, startRow, endRow);
+		return next;
+	}
+
+	private void classify(final Mask m, final int startRow, final int endRow) {
+		final int cols = m.raster.getWidth(), rows = m.raster.getHeight();
+		final int rowsPerTask =
+			Math.max(1, MIN_SAMPLES_PER_TASK / Math.max(1, cols));
+
+		// classify the visible rows right away
+		if (startRow < endRow) {
+			ForkJoinPool.commonPool().invoke(new RowBand(m, startRow, endRow,
+				rowsPerTask));
+		}
+		if (startRow == 0 && endRow == rows) return;
+
+		// classify the remaining rows in the background
+		final RowBand above =
+			startRow > 0 ? new RowBand(m, 0, startRow, rowsPerTask) : null;
+		final RowBand below =
+			endRow < rows ? new RowBand(m, endRow, rows, rowsPerTask) : null;
+		m.pending = ForkJoinPool.commonPool().submit(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				if (above != null && below != null) invokeAll(above, below);
+				else if (above != null) above.invoke();
+				else below.invoke();
+				// NB: Only announce the mask if it is still the one being drawn.
+				if (m.gen == generation && onComplete != null) onComplete.run();
+			}
+		});
+	}
+
+	private static IndexColorModel colorModel(final Color less,
+		final Color within, final Color greater)
+	{
+		final Color[] colors = { null, less, within, greater };
+		final byte[] r = new byte[colors.length], g = new byte[colors.length];
+		final byte[] b = new byte[colors.length], a = new byte[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			if (colors[i] == null) continue; // fully transparent
+			r[i] = (byte) colors[i].getRed();
+			g[i] = (byte) colors[i].getGreen();
+			b[i] = (byte) colors[i].getBlue();
+			a[i] = (byte) colors[i].getAlpha();
+		}
+		return new IndexColorModel(8, colors.length, r, g, b, a);
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * One classification of a region of a plane. Each mask has its own buffer,
+	 * so a superseded background classification can finish writing into it
+	 * without disturbing the newer mask.
+	 */
+	private static class Mask {
+
+		private final int gen;
+
+		/** Class index of each sample of the region, in row-major order. */
+		private final byte[] classes;
+		private final WritableRaster raster;
+
+		/** Classified region of the plane, in data coordinates. */
+		private final Rectangle region;
+
+		/** Distance, in data elements, between two adjacent samples. */
+		private final int step;
+
+		private final long[] planePos;
+		private final double rangeMin, rangeMax;
+
+		/** Background classification of the rows outside the clip. */
+		private ForkJoinTask<?> pending;
+
+		public Mask(final int gen, final byte[] classes, final int cols,
+			final int rows, final int step, final Rectangle region,
+			final long[] planePos, final double rangeMin, final double rangeMax)
+		{
+			this.gen = gen;
+			this.classes = classes;
+			raster = Raster.createInterleavedRaster(new DataBufferByte(classes,
+				cols * rows), cols, rows, cols, 1, new int[] { 0 }, null);
+			this.step = step;
+			this.region = region;
+			this.planePos = planePos;
+			this.rangeMin = rangeMin;
+			this.rangeMax = rangeMax;
+		}
+
+		public boolean samePlane(final long[] position) {
+			if (planePos.length != position.length) return false;
+			for (int i = 2; i < position.length; i++) {
+				if (planePos[i] != position[i]) return false;
+			}
+			return true;
+		}
+	}
+
+	/** Classifies a band of sample rows of a mask. */
+	private class RowBand extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Mask mask;
+		private final int startRow, endRow, rowsPerTask;
+
+		public RowBand(final Mask mask, final int startRow, final int endRow,
+			final int rowsPerTask)
+		{
+			this.mask = mask;
+			this.startRow = startRow;
+			this.endRow = endRow;
+			this.rowsPerTask = rowsPerTask;
+		}
+
+		@Override
+		protected void compute() {
+			final int rows = endRow - startRow;
+			if (rows > rowsPerTask) {
+				final int mid = startRow + rows / 2;
+				invokeAll(new RowBand(mask, startRow, mid, rowsPerTask),
+					new RowBand(mask, mid, endRow, rowsPerTask));
+				return;
+			}
+			final byte[] classes = mask.classes;
+			final int cols = mask.raster.getWidth(), stride = mask.step;
+			final int x0 = mask.region.x, y0 = mask.region.y;
+			final double min = mask.rangeMin, max = mask.rangeMax;
+			final RandomAccess<RealType<?>> access = dataset.randomAccess();
+			access.setPosition(mask.planePos);
+			for (int row = startRow; row < endRow; row++) {
+				if (mask.gen != generation) return; // superseded
+				access.setPosition(x0, 0);
+				access.setPosition(y0 + (long) row * stride, 1);
+				int index = row * cols;
+				for (int col = 0; col < cols; col++) {
+					// NB: Same classes as ThresholdOverlay.classify(long[]).
+					final double value = access.get().getRealDouble();
+					final byte c;
+					if (Double.isNaN(value)) c = NONE;
+					else if (value < min) c = LESS;
+					else if (value > max) c = GREATER;
+					else c = WITHIN;
+					classes[index++] = c;
+					access.move(stride, 0);
+				}
+			}
+		}
+	}
+
+}
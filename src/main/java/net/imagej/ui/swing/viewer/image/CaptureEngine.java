@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.imagej.Dataset;
+import net.imagej.DatasetService;
+import net.imagej.ImgPlus;
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+
+/**
+ * Converts composed ARGB images into 8-bit RGB {@link Dataset}s, as done when
+ * capturing the view of a {@link JHotDrawImageCanvas}.
+ * <p>
+ * The pixels are read in bulk from the image's int[] raster (when it has
+ * one), split into planar red, green and blue arrays which directly back an
+ * {@code ArrayImg}, and processed in parallel over bands of rows.
+ * </p>
+ */
+public class CaptureEngine {
+
+	/** Minimum number of pixels processed by a single task. */
+	private static final int MIN_PIXELS_PER_TASK = 1 << 16;
+
+	/**
+	 * Creates an 8-bit RGB {@link Dataset}, with X, Y and channel axes, from the
+	 * given image.
+	 */
+	public static Dataset toDataset(final BufferedImage image, final String name,
+		final DatasetService datasetService)
+	{
+		final int w = image.getWidth();
+		final int h = image.getHeight();
+		final long planeSize = (long) w * h;
+		if (3 * planeSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Image too large to capture: " + w +
+				" x " + h);
+		}
+
+		final byte[] rgb = new byte[(int) (3 * planeSize)];
+		final int rowsPerTask = Math.max(1, MIN_PIXELS_PER_TASK / Math.max(1, w));
+		ForkJoinPool.commonPool().invoke(new RowBand(image, getPixels(image), rgb,
+			0, h, rowsPerTask));
+
+		final Img<UnsignedByteType> img = ArrayImgs.unsignedBytes(rgb, w, h, 3);
+		final ImgPlus<UnsignedByteType> imgPlus = new ImgPlus<>(img, name,
+			new AxisType[] { Axes.X, Axes.Y, Axes.CHANNEL });
+		final Dataset dataset = datasetService.create(imgPlus);
+		dataset.setRGBMerged(true);
+		return dataset;
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Gets the packed ARGB pixels backing the given image, or null if the image
+	 * is not backed by a plain, unshared int[] array.
+	 */
+	private static int[] getPixels(final BufferedImage image) {
+		final int type = image.getType();
+		if (type != BufferedImage.TYPE_INT_ARGB &&
+			type != BufferedImage.TYPE_INT_RGB)
+		{
+			return null;
+		}
+		final DataBuffer buffer = image.getRaster().getDataBuffer();
+		if (!(buffer instanceof DataBufferInt) || buffer.getNumBanks() != 1 ||
+			buffer.getOffset() != 0)
+		{
+			return null;
+		}
+		final int[] pixels = ((DataBufferInt) buffer).getData();
+		if (pixels.length != image.getWidth() * image.getHeight()) return null;
+		return pixels;
+	}
+
+	// -- Helper classes --
+
+	/** Splits a band of rows into the planar red, green and blue arrays. */
+	private static class RowBand extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final BufferedImage image;
+		private final int[] pixels;
+		private final byte[] rgb;
+		private final int startRow, endRow, rowsPerTask;
+
+		public RowBand(final BufferedImage image, final int[] pixels,
+			final byte[] rgb, final int startRow, final int endRow,
+			final int rowsPerTask)
+		{
+			this.image = image;
+			this.pixels = pixels;
+			this.rgb = rgb;
+			this.startRow = startRow;
+			this.endRow = endRow;
+			this.rowsPerTask = rowsPerTask;
+		}
+
+		@Override
+		protected void compute() {
+			final int rows = endRow - startRow;
+			if (rows > rowsPerTask) {
+				final int mid = startRow + rows / 2;
+				invokeAll(new RowBand(image, pixels, rgb, startRow, mid, rowsPerTask),
+					new RowBand(image, pixels, rgb, mid, endRow, rowsPerTask));
+				return;
+			}
+			final int w = image.getWidth();
+			final int planeSize = w * image.getHeight();
+			final int greenOffset = planeSize, blueOffset = 2 * planeSize;
+			// NB: Without direct access, read one row at a time in bulk.
+			final int[] row = pixels == null ? new int[w] : null;
+			for (int y = startRow; y < endRow; y++) {
+				final int rowOffset = y * w;
+				final int[] src;
+				final int srcOffset;
+				if (pixels == null) {
+					image.getRGB(0, y, w, 1, row, 0, w);
+					src = row;
+					srcOffset = 0;
+				}
+				else {
+					src = pixels;
+					srcOffset = rowOffset;
+				}
+				for (int x = 0; x < w; x++) {
+					final int argb = src[srcOffset + x];
+					final int i = rowOffset + x;
+					rgb[i] = (byte) (argb >> 16);
+					rgb[greenOffset + i] = (byte) (argb >> 8);
+					rgb[blueOffset + i] = (byte) argb;
+				}
+			}
+		}
+	}
+
+}
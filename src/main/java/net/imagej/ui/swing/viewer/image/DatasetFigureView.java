@@ -48,7 +48,9 @@ import org.scijava.ui.awt.AWTImageTools;
 
 /**
  * A figure view that links an ImageJ {@link DatasetView} to a JHotDraw
- * {@link ImageFigure}.
+ * {@link ImageFigure}. The figure is a {@link TiledImageFigure}, so that only
+ * the visible portion of the plane is drawn when the canvas has tiled
+ * rendering enabled.
  * 
  * @author Curtis Rueden
  * @author Lee Kamentsky
@@ -56,6 +58,7 @@ import org.scijava.ui.awt.AWTImageTools;
 public class DatasetFigureView extends AbstractContextual implements FigureView
 {
 
+	private final SwingImageDisplayViewer displayViewer;
 	private final DatasetView datasetView;
 	private final ImageFigure figure;
 
@@ -66,10 +69,11 @@ public class DatasetFigureView extends AbstractContextual implements FigureView
 		final DatasetView datasetView)
 	{
 		setContext(datasetView.getContext());
+		this.displayViewer = displayViewer;
 		this.datasetView = datasetView;
 		final JHotDrawImageCanvas canvas = displayViewer.getCanvas();
 		final Drawing drawing = canvas.getDrawing();
-		figure = new ImageFigure();
+		figure = new TiledImageFigure(canvas);
 		figure.setSelectable(false);
 		figure.setTransformable(false);
 		final Dataset dataset = datasetView.getData();
@@ -90,10 +94,25 @@ public class DatasetFigureView extends AbstractContextual implements FigureView
 	@Override
 	public void update() {
 		log.debug("Updating image figure: " + this);
-		final Image image = datasetView.getScreenImage().image();
-		final BufferedImage bufImage = AWTImageTools.makeBuffered(image);
-		figure.setBounds(new Rectangle2D.Double(0, 0, bufImage.getWidth(),
-			bufImage.getHeight()));
+		final SwingImageDisplayPanel panel = displayViewer.getPanel();
+		BufferedImage bufImage =
+			panel == null ? null : panel.getProjectedImage(datasetView);
+		if (bufImage == null) {
+			// NB: The screen image is already a BufferedImage over the projector's
+			// int[] ARGB pixels, so this neither copies nor allocates.
+			final Image image = datasetView.getScreenImage().image();
+			bufImage = AWTImageTools.makeBuffered(image);
+		}
+		final Rectangle2D.Double bounds = figure.getBounds();
+		if (bounds.x != 0 || bounds.y != 0 ||
+			bounds.width != bufImage.getWidth() ||
+			bounds.height != bufImage.getHeight())
+		{
+			figure.setBounds(new Rectangle2D.Double(0, 0, bufImage.getWidth(),
+				bufImage.getHeight()));
+		}
+		// NB: Also fires the change notification when the image is the same
+		// instance, since its pixels have been reprojected in place.
 		figure.setBufferedImage(bufImage);
 	}
 
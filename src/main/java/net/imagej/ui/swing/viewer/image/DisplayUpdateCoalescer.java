@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.Timer;
+
+/**
+ * Collapses bursts of update requests into at most one update per frame.
+ * <p>
+ * The first {@link #request()} after an update arms a one-shot Swing timer;
+ * any further requests made before the timer fires are merged into the same
+ * update, which then runs on the event dispatch thread.
+ * </p>
+ */
+public class DisplayUpdateCoalescer {
+
+	/** Default delay, in milliseconds, between coalesced updates. */
+	public static final int DEFAULT_DELAY = 16;
+
+	private final Runnable update;
+	private final Timer timer;
+
+	/** Total number of requests. */
+	private final AtomicLong requestCount = new AtomicLong();
+
+	/** Number of requests covered by updates performed so far. */
+	private final AtomicLong handledCount = new AtomicLong();
+
+	/** Number of updates performed. */
+	private final AtomicLong updateCount = new AtomicLong();
+
+	public DisplayUpdateCoalescer(final Runnable update) {
+		this(update, DEFAULT_DELAY);
+	}
+
+	public DisplayUpdateCoalescer(final Runnable update, final int delay) {
+		this.update = update;
+		timer = new Timer(delay, new ActionListener() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				flush();
+			}
+		});
+		timer.setRepeats(false);
+		timer.setCoalesce(true);
+	}
+
+	// -- DisplayUpdateCoalescer methods --
+
+	/** Requests an update, to be performed within the next frame. */
+	public void request() {
+		requestCount.incrementAndGet();
+		if (!timer.isRunning()) timer.start();
+	}
+
+	/** Performs the pending update, if any, immediately. */
+	public void flush() {
+		timer.stop();
+		final long requested = requestCount.get();
+		final long handled = handledCount.getAndSet(requested);
+		if (requested == handled) return; // nothing pending
+		updateCount.incrementAndGet();
+		update.run();
+	}
+
+	/** Gets the total number of update requests. */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/** Gets the number of updates actually performed. */
+	public long getUpdateCount() {
+		return updateCount.get();
+	}
+
+	/**
+	 * Gets the number of requests which did not result in an update of their
+	 * own, because they were merged into another one.
+	 */
+	public long getDroppedCount() {
+		return handledCount.get() - updateCount.get();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import net.imagej.display.OverlayView;
+import net.imagej.ui.swing.overlay.ConcurrentJHotDrawAdapter;
+import net.imagej.ui.swing.overlay.JHotDrawAdapter;
+
+import org.jhotdraw.draw.Figure;
+import org.scijava.log.LogService;
+
+/**
+ * Builds the figures of many overlay views at once. The figures of
+ * {@link ConcurrentJHotDrawAdapter}s are built on the common fork/join pool;
+ * the others on the calling thread.
+ */
+class FigureBuilder {
+
+	/** Number of figures built by a single worker task. */
+	static final int FIGURES_PER_TASK = 64;
+
+	private FigureBuilder() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Builds and updates the figures of the given overlay views, without adding
+	 * them to a drawing. Each figure is updated exactly once.
+	 * 
+	 * @param views the overlay views whose figures to build
+	 * @param adapters the adapter of each view, or null if it has none
+	 * @param log where to report figures which could not be built
+	 * @return the figures, with null wherever a figure could not be built
+	 */
+	static Figure[] build(final List<OverlayView> views,
+		final List<JHotDrawAdapter<Figure>> adapters, final LogService log)
+	{
+		final Figure[] figures = new Figure[views.size()];
+		final List<Integer> concurrent = new ArrayList<>();
+		final List<Integer> serial = new ArrayList<>();
+		for (int i = 0; i < figures.length; i++) {
+			final boolean threadSafe =
+				adapters.get(i) instanceof ConcurrentJHotDrawAdapter;
+			(threadSafe ? concurrent : serial).add(i);
+		}
+
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int start = 0; start < concurrent.size(); start += FIGURES_PER_TASK) {
+			final List<Integer> chunk = concurrent.subList(start, Math.min(start +
+				FIGURES_PER_TASK, concurrent.size()));
+			futures.add(ForkJoinPool.commonPool().submit(new Runnable() {
+
+				@Override
+				public void run() {
+					for (final int i : chunk) {
+						figures[i] = build(views.get(i), adapters.get(i));
+					}
+				}
+			}));
+		}
+		// NB: Meanwhile, build the other figures on this thread.
+		for (final int i : serial) {
+			figures[i] = build(views.get(i), adapters.get(i));
+		}
+		try {
+			for (final Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (final ExecutionException exc) {
+					log.warn("Could not build overlay figures", exc);
+				}
+			}
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		}
+		return figures;
+	}
+
+	// -- Helper methods --
+
+	/** Builds the figure of the given overlay view, without adding it. */
+	private static Figure build(final OverlayView view,
+		final JHotDrawAdapter<Figure> adapter)
+	{
+		if (adapter == null) return null;
+		final Figure figure = adapter.createDefaultFigure();
+		if (figure != null) adapter.updateFigure(view, figure);
+		return figure;
+	}
+
+}
@@ -42,7 +42,10 @@ import org.jhotdraw.draw.Figure;
  */
 public interface FigureView {
 
-	/** Gets the linked JHotDraw figure. */
+	/**
+	 * Gets the linked JHotDraw figure, which may be null if the figure is only
+	 * built on demand.
+	 */
 	public Figure getFigure();
 
 	/** Gets the linked ImageJ data view. */
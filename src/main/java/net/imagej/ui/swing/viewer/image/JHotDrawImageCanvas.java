@@ -40,9 +40,19 @@ import java.awt.event.AdjustmentEvent;
 import java.awt.event.AdjustmentListener;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.swing.JPanel;
@@ -51,7 +61,6 @@ import javax.swing.JViewport;
 
 import net.imagej.Dataset;
 import net.imagej.DatasetService;
-import net.imagej.axis.Axes;
 import net.imagej.axis.AxisType;
 import net.imagej.display.DataView;
 import net.imagej.display.DatasetView;
@@ -61,16 +70,17 @@ import net.imagej.display.ImageDisplayService;
 import net.imagej.display.OverlayView;
 import net.imagej.display.event.DataViewDeselectedEvent;
 import net.imagej.display.event.DataViewSelectedEvent;
+import net.imagej.display.event.DataViewUpdatedEvent;
 import net.imagej.display.event.MouseCursorEvent;
 import net.imagej.display.event.PanZoomEvent;
+import net.imagej.event.OverlayRestructuredEvent;
 import net.imagej.ui.swing.overlay.FigureCreatedEvent;
+import net.imagej.ui.swing.overlay.FiguresCreatedEvent;
 import net.imagej.ui.swing.overlay.JHotDrawAdapter;
 import net.imagej.ui.swing.overlay.JHotDrawService;
 import net.imagej.ui.swing.overlay.JHotDrawTool;
 import net.imagej.ui.swing.overlay.ToolDelegator;
-import net.imglib2.RandomAccess;
 import net.imglib2.display.screenimage.awt.ARGBScreenImage;
-import net.imglib2.type.numeric.RealType;
 
 import org.jhotdraw.draw.DefaultDrawing;
 import org.jhotdraw.draw.DefaultDrawingEditor;
@@ -78,6 +88,7 @@ import org.jhotdraw.draw.DefaultDrawingView;
 import org.jhotdraw.draw.Drawing;
 import org.jhotdraw.draw.DrawingEditor;
 import org.jhotdraw.draw.Figure;
+import org.jhotdraw.draw.QuadTreeDrawing;
 import org.jhotdraw.draw.event.FigureSelectionEvent;
 import org.jhotdraw.draw.event.FigureSelectionListener;
 import org.scijava.Disposable;
@@ -111,9 +122,15 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 	ComponentListener, FigureSelectionListener, Disposable
 {
 
+	/** Number of new overlays from which figures are built in parallel. */
+	private static final int PARALLEL_FIGURE_THRESHOLD = 256;
+
+	/** Default number of hidden overlays whose figures are kept. */
+	public static final int DEFAULT_FIGURE_CACHE_SIZE = 1024;
+
 	private final SwingImageDisplayViewer displayViewer;
 
-	private final Drawing drawing;
+	private Drawing drawing;
 	private final DefaultDrawingView drawingView;
 	private final DrawingEditor drawingEditor;
 	private final ToolDelegator toolDelegator;
@@ -122,8 +139,36 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 
 	private final List<FigureView> figureViews = new ArrayList<>();
 
+	/** Index of {@link #figureViews} by linked data view. */
+	private final Map<DataView, FigureView> viewIndex = new IdentityHashMap<>();
+
+	/** Index of {@link #figureViews} by linked figure. */
+	private final Map<Figure, FigureView> figureIndex = new IdentityHashMap<>();
+
 	private final List<EventSubscriber<?>> subscribers;
 
+	/** Whether image figures draw only the tiles within the viewport. */
+	private boolean tiledRendering;
+
+	/**
+	 * Overlay figure views whose overlays are hidden but whose figures are
+	 * still materialized, from least to most recently hidden.
+	 */
+	private final Map<OverlayFigureView, Boolean> hiddenFigures =
+		new LinkedHashMap<>();
+
+	private int figureCacheSize = DEFAULT_FIGURE_CACHE_SIZE;
+
+	/** Overlay figure views by the plane on which their overlays lie. */
+	private final PlaneIndex planeIndex = new PlaneIndex();
+
+	/** Plane displayed as of the last {@link #update()}. */
+	private long[] lastPlane;
+
+	/** Throttles figure-to-overlay syncs while the mouse is dragged. */
+	private final OverlaySyncThrottle overlaySyncThrottle =
+		new OverlaySyncThrottle();
+
 	@Parameter
 	private ToolService toolService;
 
@@ -149,7 +194,7 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 		displayViewer.getDisplay().getContext().inject(this);
 		this.displayViewer = displayViewer;
 
-		drawing = new DefaultDrawing(); // or QuadTreeDrawing?
+		drawing = new DefaultDrawing();
 
 		drawingView = new DefaultDrawingView() {
 
@@ -193,6 +238,18 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 
 		drawingView.addFigureSelectionListener(this);
 		drawingView.addComponentListener(this);
+		drawingView.addMouseListener(new MouseAdapter() {
+
+			@Override
+			public void mousePressed(final MouseEvent e) {
+				overlaySyncThrottle.beginDrag();
+			}
+
+			@Override
+			public void mouseReleased(final MouseEvent e) {
+				overlaySyncThrottle.endDrag();
+			}
+		});
 	}
 
 	// -- JHotDrawImageCanvas methods --
@@ -209,6 +266,115 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 		return drawingEditor;
 	}
 
+	/**
+	 * Gets the number of hidden overlays (e.g., on other planes) whose figures
+	 * are kept, so that stepping back to their plane needs no rebuilding. The
+	 * figures of overlays hidden longer ago are discarded, and rebuilt once
+	 * their overlays become visible again.
+	 */
+	public int getFigureCacheSize() {
+		return figureCacheSize;
+	}
+
+	/**
+	 * Sets the number of hidden overlays whose figures are kept.
+	 * 
+	 * @see #getFigureCacheSize()
+	 */
+	public void setFigureCacheSize(final int figureCacheSize) {
+		if (figureCacheSize < 0) {
+			throw new IllegalArgumentException("Invalid cache size: " +
+				figureCacheSize);
+		}
+		this.figureCacheSize = figureCacheSize;
+		evictHiddenFigures();
+	}
+
+	/**
+	 * Gets the throttle which limits how often figure changes propagate to
+	 * their overlays while the mouse is dragged, and which measures the
+	 * latency of the deferred syncs.
+	 */
+	public OverlaySyncThrottle getOverlaySyncThrottle() {
+		return overlaySyncThrottle;
+	}
+
+	/**
+	 * Gets whether the drawing keeps its figures in a spatial index.
+	 * 
+	 * @see #setSpatialIndex(boolean)
+	 */
+	public boolean isSpatialIndex() {
+		return drawing instanceof QuadTreeDrawing;
+	}
+
+	/**
+	 * Sets whether the drawing keeps its figures in a spatial index. When
+	 * enabled, the drawing is a {@link QuadTreeDrawing}, which indexes figures
+	 * by their drawing areas; hit testing ({@code findFigure}), clip-based
+	 * painting and rubber-band selection then only consider the figures near
+	 * the region of interest, rather than every figure of the drawing. This is
+	 * worthwhile for displays with many thousands of overlays. Disabled by
+	 * default.
+	 * <p>
+	 * Switching moves all figures over to a new drawing; the current figure
+	 * selection is cleared in the process.
+	 * </p>
+	 */
+	public void setSpatialIndex(final boolean spatialIndex) {
+		if (isSpatialIndex() == spatialIndex) return;
+		final Drawing oldDrawing = drawing;
+		final Drawing newDrawing =
+			spatialIndex ? new QuadTreeDrawing() : new DefaultDrawing();
+		drawingView.clearSelection();
+		moveFigures(oldDrawing, newDrawing);
+		drawing = newDrawing;
+		drawingView.setDrawing(newDrawing);
+	}
+
+	/**
+	 * Gets whether tiled rendering is enabled. When enabled, the image figure
+	 * is drawn as a grid of fixed-size tiles, and only the tiles intersecting
+	 * the current viewport are drawn.
+	 * 
+	 * @see TiledImageFigure
+	 */
+	public boolean isTiledRendering() {
+		return tiledRendering;
+	}
+
+	/**
+	 * Sets whether tiled rendering is enabled.
+	 * 
+	 * @see #isTiledRendering()
+	 */
+	public void setTiledRendering(final boolean tiledRendering) {
+		if (this.tiledRendering == tiledRendering) return;
+		this.tiledRendering = tiledRendering;
+		drawingView.repaint();
+	}
+
+	/**
+	 * Gets the region of the plane currently visible in the viewport, in data
+	 * coordinates, as derived from the pan offset and zoom factor of the
+	 * {@link ImageCanvas}.
+	 * 
+	 * @return the visible region, or null if the viewport is not yet sized
+	 */
+	public Rectangle2D.Double getViewportBounds() {
+		final ImageDisplay display = getDisplay();
+		if (display == null) return null;
+		final ImageCanvas canvas = display.getCanvas();
+		final int w = canvas.getViewportWidth();
+		final int h = canvas.getViewportHeight();
+		if (w <= 0 || h <= 0) return null;
+		final RealCoords topLeft = canvas.panelToDataCoords(new IntCoords(0, 0));
+		final RealCoords bottomRight =
+			canvas.panelToDataCoords(new IntCoords(w, h));
+		return new Rectangle2D.Double(topLeft.x, topLeft.y, bottomRight.x -
+			topLeft.x, bottomRight.y - topLeft.y);
+	}
+
 	public void addEventDispatcher(final AWTInputEventDispatcher dispatcher) {
 		dispatcher.register(drawingView, true, true);
 	}
@@ -243,32 +409,13 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 
 		// draw the overlay info
 		for (final FigureView view : figureViews) {
-			view.getFigure().draw(outputGraphics);
+			final Figure figure = view.getFigure();
+			if (figure != null) figure.draw(outputGraphics);
 		}
 
 		// create a dataset that has view data with overlay info on top
-		final Dataset dataset =
-			datasetService.create(new long[] { w, h, 3 }, "Captured view",
-				new AxisType[] { Axes.X, Axes.Y, Axes.CHANNEL }, 8, false, false);
-		dataset.setRGBMerged(true);
-		final RandomAccess<? extends RealType<?>> accessor = dataset.randomAccess();
-		for (int x = 0; x < w; x++) {
-			accessor.setPosition(x, 0);
-			for (int y = 0; y < h; y++) {
-				accessor.setPosition(y, 1);
-				final int rgb = outputImage.getRGB(x, y);
-				final int r = (rgb >> 16) & 0xff;
-				final int g = (rgb >> 8) & 0xff;
-				final int b = (rgb >> 0) & 0xff;
-				accessor.setPosition(0, 2);
-				accessor.get().setReal(r);
-				accessor.setPosition(1, 2);
-				accessor.get().setReal(g);
-				accessor.setPosition(2, 2);
-				accessor.get().setReal(b);
-			}
-		}
-		return dataset;
+		return CaptureEngine.toDataset(outputImage, "Captured view",
+			datasetService);
 	}
 
 	// -- AdjustmentListener methods --
@@ -290,17 +437,14 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 	public void selectionChanged(FigureSelectionEvent event) {
 		final Set<Figure> newSelection = event.getNewSelection();
 		final Set<Figure> oldSelection = event.getOldSelection();
-		for (final DataView view : getDisplay()) {
-			final FigureView figureView = getFigureView(view);
-			if (figureView != null) {
-				final Figure figure = figureView.getFigure();
-				if (newSelection.contains(figure)) {
-					view.setSelected(true);
-				}
-				else if (oldSelection.contains(figure)) {
-					view.setSelected(false);
-				}
-			}
+		for (final Figure figure : oldSelection) {
+			if (newSelection.contains(figure)) continue;
+			final FigureView figureView = figureIndex.get(figure);
+			if (figureView != null) figureView.getDataView().setSelected(false);
+		}
+		for (final Figure figure : newSelection) {
+			final FigureView figureView = figureIndex.get(figure);
+			if (figureView != null) figureView.getDataView().setSelected(true);
 		}
 	}
 
@@ -335,6 +479,7 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 		if (figureView == null) return; // not one of this canvas's views
 
 		final Figure figure = figureView.getFigure();
+		if (figure == null) return; // not materialized
 		if (!drawingView.getSelectedFigures().contains(figure)) {
 			drawingView.addToSelection(figure);
 		}
@@ -347,11 +492,30 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 		if (figureView == null) return; // not one of this canvas's views
 
 		final Figure figure = figureView.getFigure();
+		if (figure == null) return; // not materialized
 		if (drawingView.getSelectedFigures().contains(figure)) {
 			drawingView.removeFromSelection(figure);
 		}
 	}
 
+	/** Moves an updated overlay in the plane index, if its plane changed. */
+	@EventHandler
+	protected void onEvent(final DataViewUpdatedEvent event) {
+		final FigureView figureView = getFigureView(event.getView());
+		if (figureView == null) return; // not one of this canvas's views
+		planeIndex.reindex(figureView);
+	}
+
+	/** Reindexes all views if an overlay gains or loses an axis. */
+	@EventHandler
+	protected void onEvent(final OverlayRestructuredEvent event) {
+		for (final DataView view : getDisplay()) {
+			if (view.getData() != event.getObject()) continue;
+			planeIndex.invalidate();
+			return;
+		}
+	}
+
 	@EventHandler
 	protected void onEvent(final ToolActivatedEvent event) {
 		final Tool iTool = event.getTool();
@@ -392,76 +556,249 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 		final ImageDisplay display = event.getDisplay();
 		if (display != getDisplay()) return; // not this canvas's display
 
-		final OverlayView overlay = event.getView();
-		for (int i = 0; i < display.numDimensions(); i++) {
-			final AxisType axisType = display.axis(i).type();
-			if (axisType.isXY()) continue;
-			if (overlay.getData().dimensionIndex(axisType) < 0) {
-				overlay.setPosition(display.getLongPosition(axisType), axisType);
-			}
-		}
-		if (drawingView.getSelectedFigures().contains(event.getFigure())) {
-			overlay.setSelected(true);
+		linkFigure(display, event.getView(), event.getFigure());
+		display.update();
+	}
+
+	/**
+	 * When a batch of overlays is created, link each overlay/figure combo, then
+	 * update the display once.
+	 */
+	@EventHandler
+	protected void onEvent(final FiguresCreatedEvent event) {
+		final ImageDisplay display = event.getDisplay();
+		if (display != getDisplay()) return; // not this canvas's display
+
+		final List<OverlayView> overlays = event.getViews();
+		final List<Figure> figures = event.getFigures();
+		for (int i = 0; i < overlays.size(); i++) {
+			linkFigure(display, overlays.get(i), figures.get(i));
 		}
-		final OverlayFigureView figureView =
-			new OverlayFigureView(displayViewer, overlay, event.getFigure());
-		figureViews.add(figureView);
-		display.add(overlay);
+		// NB: Update the display once for the whole batch.
 		display.update();
 	}
 
 	// -- Internal methods --
 
+	/**
+	 * Moves all figures of one drawing over to another, in the same order.
+	 * <p>
+	 * This uses the basic methods, which do not notify the figures of their
+	 * removal; {@link OverlayFigureView} would take that as deletion of its
+	 * overlay.
+	 * </p>
+	 */
+	static void moveFigures(final Drawing from, final Drawing to) {
+		final List<Figure> figures = new ArrayList<>(from.getChildren());
+		for (final Figure figure : figures) {
+			from.basicRemove(figure);
+		}
+		for (final Figure figure : figures) {
+			to.basicAdd(figure);
+			figure.addNotify(to);
+		}
+	}
+
+	/** Notes that the given view has materialized its figure. */
+	void figureMaterialized(final OverlayFigureView figureView) {
+		figureIndex.put(figureView.getFigure(), figureView);
+	}
+
+	/** Notes that the given view has discarded the given figure. */
+	void figureDiscarded(final OverlayFigureView figureView,
+		final Figure figure)
+	{
+		figureIndex.remove(figure);
+	}
+
+	/** Notes that the overlay of the given view is visible. */
+	void figureShown(final OverlayFigureView figureView) {
+		hiddenFigures.remove(figureView);
+	}
+
+	/**
+	 * Notes that the overlay of the given view is hidden, discarding the
+	 * figures of the least recently hidden overlays as needed.
+	 */
+	void figureHidden(final OverlayFigureView figureView) {
+		if (hiddenFigures.containsKey(figureView)) return;
+		hiddenFigures.put(figureView, Boolean.TRUE);
+		evictHiddenFigures();
+	}
+
 	void rebuild() {
+		final Set<DataView> dataViews =
+			Collections.newSetFromMap(new IdentityHashMap<DataView, Boolean>());
+		final List<OverlayView> newOverlays = new ArrayList<>();
 		for (final DataView dataView : getDisplay()) {
-			FigureView figureView = getFigureView(dataView);
-			if (figureView == null) {
-				if (dataView instanceof DatasetView) {
-					figureView =
-						new DatasetFigureView(this.displayViewer, (DatasetView) dataView);
-				}
-				else if (dataView instanceof OverlayView) {
-					figureView =
-						new OverlayFigureView(this.displayViewer, (OverlayView) dataView);
-				}
-				else {
-					log.error("Don't know how to make a figure view for " +
-						dataView.getClass().getName());
-					continue;
-				}
-				figureViews.add(figureView);
+			dataViews.add(dataView);
+			if (viewIndex.containsKey(dataView)) continue;
+			final FigureView figureView;
+			if (dataView instanceof DatasetView) {
+				figureView =
+					new DatasetFigureView(this.displayViewer, (DatasetView) dataView);
 			}
-		}
-		int idx = 0;
-		while (idx < figureViews.size()) {
-			final FigureView figureView = figureViews.get(idx);
-			if (!getDisplay().contains(figureView.getDataView())) {
-				figureViews.remove(idx);
-				figureView.dispose();
+			else if (dataView instanceof OverlayView) {
+				newOverlays.add((OverlayView) dataView);
+				continue;
 			}
 			else {
-				idx++;
+				log.error("Don't know how to make a figure view for " +
+					dataView.getClass().getName());
+				continue;
+			}
+			addFigureView(figureView);
+		}
+		addOverlayFigureViews(newOverlays);
+
+		// discard figure views whose data views are no longer displayed
+		final List<FigureView> obsolete = new ArrayList<>();
+		for (final FigureView figureView : figureViews) {
+			if (!dataViews.contains(figureView.getDataView())) {
+				obsolete.add(figureView);
 			}
 		}
+		if (obsolete.isEmpty()) return;
+		// NB: FigureView does not override equals, so this is an identity match.
+		figureViews.removeAll(new HashSet<>(obsolete));
+		for (final FigureView figureView : obsolete) {
+			unindex(figureView);
+			figureView.dispose();
+		}
 	}
 
 	void update() {
+		final ImageDisplay display = getDisplay();
+		final AxisType[] planeAxes = PlaneIndex.planeAxes(display);
+		final long[] plane = PlaneIndex.plane(display, planeAxes);
+		final long[] previousPlane = lastPlane;
+		lastPlane = plane;
+
+		if (previousPlane != null && !Arrays.equals(plane, previousPlane) &&
+			planeIndex.isValid(planeAxes))
+		{
+			// NB: Only the plane changed; touch only the overlays which are
+			// visible on the old or the new plane. The others stay hidden, and
+			// are brought up to date once their plane is shown.
+			final Set<FigureView> touched =
+				Collections.newSetFromMap(new IdentityHashMap<FigureView, Boolean>());
+			planeIndex.collect(previousPlane, touched);
+			planeIndex.collect(plane, touched);
+			for (final FigureView figureView : planeIndex.others()) {
+				figureView.update();
+			}
+			for (final FigureView figureView : touched) {
+				figureView.update();
+			}
+			return;
+		}
+
 		for (final FigureView figureView : figureViews) {
 			figureView.update();
 		}
+		planeIndex.rebuild(figureViews, planeAxes);
 	}
 
 	// -- Helper methods --
 
+	/**
+	 * Creates figure views for the given overlay views. For many visible
+	 * overlays, the figures are built at once, in parallel where their adapters
+	 * allow, and then added to the drawing at once; the figures of hidden
+	 * overlays are built lazily.
+	 */
+	private void addOverlayFigureViews(final List<OverlayView> newOverlays) {
+		final List<OverlayView> overlayViews = new ArrayList<>();
+		for (final OverlayView overlayView : newOverlays) {
+			if (getDisplay().isVisible(overlayView)) overlayViews.add(overlayView);
+			else addFigureView(new OverlayFigureView(displayViewer, overlayView));
+		}
+		final int count = overlayViews.size();
+		if (count < PARALLEL_FIGURE_THRESHOLD) {
+			for (final OverlayView overlayView : overlayViews) {
+				addFigureView(new OverlayFigureView(displayViewer, overlayView));
+			}
+			return;
+		}
+
+		// NB: Resolve each adapter once, here, and give it to the view as well.
+		final List<JHotDrawAdapter<Figure>> adapters = new ArrayList<>(count);
+		for (final OverlayView overlayView : overlayViews) {
+			@SuppressWarnings("unchecked")
+			final JHotDrawAdapter<Figure> adapter =
+				(JHotDrawAdapter<Figure>) jHotDrawService.getAdapter(overlayView
+					.getData(), null);
+			adapters.add(adapter);
+		}
+		final Figure[] figures = FigureBuilder.build(overlayViews, adapters, log);
+		final List<Figure> batch = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final OverlayView overlayView = overlayViews.get(i);
+			if (figures[i] == null) {
+				// NB: Fall back to building the figure here.
+				addFigureView(new OverlayFigureView(displayViewer, overlayView));
+				continue;
+			}
+			addFigureView(new OverlayFigureView(displayViewer, overlayView,
+				adapters.get(i), figures[i]));
+			batch.add(figures[i]);
+		}
+		drawing.addAll(batch);
+	}
+
 	private ImageDisplay getDisplay() {
 		return displayViewer.getDisplay();
 	}
 
 	private FigureView getFigureView(final DataView dataView) {
-		for (final FigureView figureView : figureViews) {
-			if (figureView.getDataView() == dataView) return figureView;
+		return viewIndex.get(dataView);
+	}
+
+	private void addFigureView(final FigureView figureView) {
+		figureViews.add(figureView);
+		planeIndex.invalidate();
+		viewIndex.put(figureView.getDataView(), figureView);
+		final Figure figure = figureView.getFigure();
+		if (figure != null) figureIndex.put(figure, figureView);
+	}
+
+	/**
+	 * Links a newly created {@link Figure} to its {@link OverlayView}, adding
+	 * the overlay to the given display without updating it.
+	 */
+	private void linkFigure(final ImageDisplay display,
+		final OverlayView overlay, final Figure figure)
+	{
+		for (int i = 0; i < display.numDimensions(); i++) {
+			final AxisType axisType = display.axis(i).type();
+			if (axisType.isXY()) continue;
+			if (overlay.getData().dimensionIndex(axisType) < 0) {
+				overlay.setPosition(display.getLongPosition(axisType), axisType);
+			}
+		}
+		if (drawingView.getSelectedFigures().contains(figure)) {
+			overlay.setSelected(true);
+		}
+		final OverlayFigureView figureView =
+			new OverlayFigureView(displayViewer, overlay, figure);
+		addFigureView(figureView);
+		display.add(overlay);
+	}
+
+	private void unindex(final FigureView figureView) {
+		planeIndex.invalidate();
+		viewIndex.remove(figureView.getDataView());
+		final Figure figure = figureView.getFigure();
+		if (figure != null) figureIndex.remove(figure);
+	}
+
+	private void evictHiddenFigures() {
+		final Iterator<OverlayFigureView> iter = hiddenFigures.keySet().iterator();
+		while (hiddenFigures.size() > figureCacheSize && iter.hasNext()) {
+			final OverlayFigureView figureView = iter.next();
+			iter.remove();
+			figureView.dematerialize();
 		}
-		return null;
 	}
 
 	/** Updates the {@link ImageCanvas} to match the UI. */
@@ -585,7 +922,11 @@ public class JHotDrawImageCanvas extends JPanel implements AdjustmentListener,
 	 */
 	@Override
 	public void dispose() {
+		overlaySyncThrottle.flush();
+		hiddenFigures.clear();
 		figureViews.clear();
+		viewIndex.clear();
+		figureIndex.clear();
 	}
 
 }
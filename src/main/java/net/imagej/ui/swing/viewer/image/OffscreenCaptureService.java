@@ -0,0 +1,207 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.imagej.Dataset;
+import net.imagej.DatasetService;
+import net.imagej.ImageJService;
+import net.imagej.display.DataView;
+import net.imagej.display.DatasetView;
+import net.imagej.display.ImageDisplay;
+import net.imagej.display.ImageDisplayService;
+import net.imagej.display.OverlayView;
+import net.imagej.ui.swing.overlay.JHotDrawAdapter;
+import net.imagej.ui.swing.overlay.JHotDrawService;
+import net.imglib2.display.screenimage.awt.ARGBScreenImage;
+
+import org.jhotdraw.draw.Figure;
+import org.scijava.log.LogService;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+import org.scijava.util.RealRect;
+
+/**
+ * Renders image displays into offscreen images, without needing a window,
+ * canvas or event dispatch thread.
+ * <p>
+ * The {@link DatasetView} is drawn from its current screen image, and each
+ * {@link OverlayView} is converted into a JHotDraw {@link Figure} by the same
+ * {@link JHotDrawAdapter} used by {@link JHotDrawImageCanvas}, then drawn on
+ * top. Rendering only reads the given views and draws freshly created figures,
+ * so distinct displays can be rendered from worker threads in parallel, also
+ * when running with {@code java.awt.headless=true}.
+ * </p>
+ */
+@Plugin(type = Service.class)
+public class OffscreenCaptureService extends AbstractService implements
+	ImageJService
+{
+
+	@Parameter
+	private JHotDrawService jHotDrawService;
+
+	@Parameter
+	private ImageDisplayService imageDisplayService;
+
+	@Parameter
+	private DatasetService datasetService;
+
+	@Parameter
+	private LogService log;
+
+	// -- OffscreenCaptureService methods --
+
+	/**
+	 * Renders the active dataset view of the given display, along with its
+	 * visible overlays, into a new image.
+	 * 
+	 * @param display the display to render
+	 * @param region the region of the plane to render, in data coordinates, or
+	 *          null for the whole plane
+	 * @param scale the scale factor from data to image coordinates
+	 * @return the rendered image, or null if the display has no dataset view
+	 */
+	public BufferedImage render(final ImageDisplay display,
+		final RealRect region, final double scale)
+	{
+		final DatasetView datasetView =
+			imageDisplayService.getActiveDatasetView(display);
+		if (datasetView == null) return null;
+		final List<OverlayView> overlayViews = new ArrayList<>();
+		for (final DataView view : display) {
+			if (!(view instanceof OverlayView)) continue;
+			if (!display.isVisible(view)) continue;
+			overlayViews.add((OverlayView) view);
+		}
+		return render(datasetView, overlayViews, region, scale);
+	}
+
+	/**
+	 * Renders the given dataset view, with the given overlay views on top, into
+	 * a new image. The dataset view is drawn from its screen image as last
+	 * projected by its display; the view itself is left untouched.
+	 * 
+	 * @param datasetView the dataset view to render
+	 * @param overlayViews the overlay views to draw on top of the dataset
+	 * @param region the region of the plane to render, in data coordinates, or
+	 *          null for the whole plane
+	 * @param scale the scale factor from data to image coordinates
+	 * @return the rendered image
+	 */
+	public BufferedImage render(final DatasetView datasetView,
+		final Collection<? extends OverlayView> overlayViews,
+		final RealRect region, final double scale)
+	{
+		if (scale <= 0) {
+			throw new IllegalArgumentException("Invalid scale: " + scale);
+		}
+
+		// NB: The screen image belongs to the display, which projects into it
+		// while holding the view. Only read it here, under the same lock, so an
+		// export never changes what the window paints.
+		synchronized (datasetView) {
+			final ARGBScreenImage screenImage = datasetView.getScreenImage();
+			final RealRect r = region != null ? region : new RealRect(0, 0,
+				screenImage.dimension(0), screenImage.dimension(1));
+			final int w = (int) Math.ceil(r.width * scale);
+			final int h = (int) Math.ceil(r.height * scale);
+			if (w <= 0 || h <= 0) {
+				throw new IllegalArgumentException("Empty region: " + r);
+			}
+
+			final BufferedImage image =
+				new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+			final Graphics2D g = image.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+					RenderingHints.VALUE_ANTIALIAS_ON);
+				g.scale(scale, scale);
+				g.translate(-r.x, -r.y);
+				g.clip(new Rectangle2D.Double(r.x, r.y, r.width, r.height));
+
+				// draw the backdrop image
+				g.drawImage(screenImage.image(), 0, 0, null);
+
+				// draw the overlays
+				for (final OverlayView overlayView : overlayViews) {
+					final Figure figure = createFigure(overlayView);
+					if (figure != null) figure.draw(g);
+				}
+			}
+			finally {
+				g.dispose();
+			}
+			return image;
+		}
+	}
+
+	/**
+	 * Renders the active dataset view of the given display, along with its
+	 * visible overlays, into a new RGB {@link Dataset}.
+	 * 
+	 * @see #render(ImageDisplay, RealRect, double)
+	 */
+	public Dataset capture(final ImageDisplay display, final RealRect region,
+		final double scale)
+	{
+		final BufferedImage image = render(display, region, scale);
+		if (image == null) return null;
+		return CaptureEngine.toDataset(image, "Captured view", datasetService);
+	}
+
+	// -- Helper methods --
+
+	/** Creates a standalone figure matching the given overlay view. */
+	private Figure createFigure(final OverlayView overlayView) {
+		@SuppressWarnings("unchecked")
+		final JHotDrawAdapter<Figure> adapter =
+			(JHotDrawAdapter<Figure>) jHotDrawService.getAdapter(overlayView
+				.getData());
+		if (adapter == null) {
+			log.debug("No JHotDraw adapter for overlay: " + overlayView.getData());
+			return null;
+		}
+		final Figure figure = adapter.createDefaultFigure();
+		if (figure == null) return null;
+		adapter.updateFigure(overlayView, figure);
+		return figure;
+	}
+
+}
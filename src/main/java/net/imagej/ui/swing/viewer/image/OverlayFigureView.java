@@ -39,6 +39,7 @@ import org.jhotdraw.draw.Drawing;
 import org.jhotdraw.draw.Figure;
 import org.jhotdraw.draw.event.FigureAdapter;
 import org.jhotdraw.draw.event.FigureEvent;
+import org.jhotdraw.draw.event.FigureListener;
 import org.scijava.AbstractContextual;
 import org.scijava.display.Display;
 import org.scijava.plugin.Parameter;
@@ -46,6 +47,12 @@ import org.scijava.plugin.Parameter;
 /**
  * A figure view that links an ImageJ {@link OverlayView} to a JHotDraw
  * {@link Figure}.
+ * <p>
+ * The figure is materialized lazily: while the overlay is not visible (e.g.,
+ * because it lies on another plane), no figure is built. Once built, the
+ * figure of a hidden overlay is kept until the canvas evicts it from its cache
+ * of recently hidden figures.
+ * </p>
  * 
  * @author Curtis Rueden
  * @author Lee Kamentsky
@@ -56,11 +63,44 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 	private final SwingImageDisplayViewer displayViewer;
 	private final OverlayView overlayView;
 
-	/** JHotDraw {@link Figure} linked to the associated {@link Overlay}. */
-	private final Figure figure;
+	/**
+	 * JHotDraw {@link Figure} linked to the associated {@link Overlay}, or null
+	 * if not materialized.
+	 */
+	private Figure figure;
 
 	private final JHotDrawAdapter<Figure> adapter;
 
+	private final FigureListener figureListener = new FigureAdapter() {
+
+		@Override
+		public void attributeChanged(final FigureEvent e) {
+			if (updatingFigure) return;
+			requestSync();
+		}
+
+		@Override
+		public void figureChanged(final FigureEvent e) {
+			if (updatingFigure) return;
+			requestSync();
+		}
+
+		@Override
+		public void figureRemoved(final FigureEvent e) {
+			final ImageDisplay d = getDisplay();
+			if (d.isVisible(overlayView)) {
+				DataView view = getDataView();
+				// TODO : replace next two lines with call to OverlayService to
+				// removeOverlay(d, getDataView().getData());
+				d.remove(view);
+				view.dispose();
+				// end TODO replace
+				dispose();
+				d.update();
+			}
+		}
+	};
+
 	@Parameter
 	private JHotDrawService jHotDrawService;
 
@@ -68,6 +108,12 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 
 	private boolean updatingOverlay = false;
 
+	/**
+	 * Whether the figure was built to match the overlay and not updated since,
+	 * so that its first update needs only to show it.
+	 */
+	private boolean figureSynced = false;
+
 	/**
 	 * Constructor to use to discover the figure to use for an overlay
 	 * 
@@ -90,72 +136,54 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 	 */
 	public OverlayFigureView(final SwingImageDisplayViewer displayViewer,
 		final OverlayView overlayView, final Figure figure)
+	{
+		this(displayViewer, overlayView, null, figure, false);
+	}
+
+	/**
+	 * Constructor to use if the figure was already built by the given adapter,
+	 * and updated to match the overlay
+	 * 
+	 * @param displayViewer - hook to this display viewer
+	 * @param overlayView - represent this overlay
+	 * @param adapter - the adapter which built the figure
+	 * @param figure - draw using this figure
+	 */
+	OverlayFigureView(final SwingImageDisplayViewer displayViewer,
+		final OverlayView overlayView, final JHotDrawAdapter<Figure> adapter,
+		final Figure figure)
+	{
+		this(displayViewer, overlayView, adapter, figure, true);
+	}
+
+	private OverlayFigureView(final SwingImageDisplayViewer displayViewer,
+		final OverlayView overlayView, final JHotDrawAdapter<Figure> adapter,
+		final Figure figure, final boolean figureSynced)
 	{
 		setContext(displayViewer.getDisplay().getContext());
 		this.displayViewer = displayViewer;
 		this.overlayView = overlayView;
 
-		@SuppressWarnings("unchecked")
-		final JHotDrawAdapter<Figure> adapterMatch =
-			(JHotDrawAdapter<Figure>) jHotDrawService.getAdapter(overlayView
-				.getData(), figure);
-		adapter = adapterMatch;
+		if (adapter == null) {
+			@SuppressWarnings("unchecked")
+			final JHotDrawAdapter<Figure> adapterMatch =
+				(JHotDrawAdapter<Figure>) jHotDrawService.getAdapter(overlayView
+					.getData(), figure);
+			this.adapter = adapterMatch;
+		}
+		else this.adapter = adapter;
+		this.figureSynced = figureSynced;
 		if (figure == null) {
-			this.figure = adapter.createDefaultFigure();
-			adapter.updateFigure(overlayView, this.figure);
-
-			final JHotDrawImageCanvas canvas = displayViewer.getCanvas();
-			final Drawing drawing = canvas.getDrawing();
-			drawing.add(this.figure);
+			// NB: Build the figure only once the overlay is visible.
+			if (getDisplay().isVisible(overlayView)) {
+				materialize();
+				displayViewer.getCanvas().getDrawing().add(this.figure);
+			}
 		}
 		else {
 			this.figure = figure;
+			figure.addFigureListener(figureListener);
 		}
-		this.figure.addFigureListener(new FigureAdapter() {
-
-			@Override
-			public void attributeChanged(final FigureEvent e) {
-				if (updatingFigure) return;
-				updatingOverlay = true;
-				try {
-					adapter.updateOverlay(OverlayFigureView.this.figure,
-						OverlayFigureView.this.overlayView);
-					overlayView.update();
-				}
-				finally {
-					updatingOverlay = false;
-				}
-			}
-
-			@Override
-			public void figureChanged(final FigureEvent e) {
-				if (updatingFigure) return;
-				updatingOverlay = true;
-				try {
-					adapter.updateOverlay(OverlayFigureView.this.figure,
-						OverlayFigureView.this.overlayView);
-					overlayView.update();
-				}
-				finally {
-					updatingOverlay = false;
-				}
-			}
-
-			@Override
-			public void figureRemoved(final FigureEvent e) {
-				final ImageDisplay d = getDisplay();
-				if (d.isVisible(overlayView)) {
-					DataView view = getDataView();
-					// TODO : replace next two lines with call to OverlayService to
-					// removeOverlay(d, getDataView().getData());
-					d.remove(view);
-					view.dispose();
-					// end TODO replace
-					dispose();
-					d.update();
-				}
-			}
-		});
 	}
 
 	// -- DataView methods --
@@ -173,12 +201,17 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 		if (doShow) {
 			if (!drawing.contains(fig)) {
 				drawing.add(fig);
+				if (overlayView.isSelected()) {
+					canvas.getDrawingView().addToSelection(fig);
+				}
 			}
+			canvas.figureShown(this);
 		}
 		else {
 			if (drawing.contains(fig)) {
 				drawing.remove(fig);
 			}
+			canvas.figureHidden(this);
 		}
 	}
 
@@ -187,6 +220,10 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 		updateFigure();
 	}
 
+	/**
+	 * Gets the linked JHotDraw figure, or null if the overlay has not been
+	 * visible since the figure was last discarded.
+	 */
 	@Override
 	public Figure getFigure() {
 		return figure;
@@ -194,15 +231,73 @@ public class OverlayFigureView extends AbstractContextual implements FigureView
 
 	@Override
 	public void dispose() {
-		figure.requestRemove();
+		final JHotDrawImageCanvas canvas = displayViewer.getCanvas();
+		canvas.getOverlaySyncThrottle().cancel(this);
+		canvas.figureShown(this); // no longer a candidate for eviction
+		if (figure != null) figure.requestRemove();
+	}
+
+	// -- Internal methods --
+
+	/** Updates the overlay to match the figure. */
+	void syncOverlay() {
+		if (figure == null) return;
+		updatingOverlay = true;
+		try {
+			adapter.updateOverlay(figure, overlayView);
+			overlayView.update();
+		}
+		finally {
+			updatingOverlay = false;
+		}
+	}
+
+	/**
+	 * Discards the figure of this hidden overlay, to be rebuilt when the
+	 * overlay becomes visible again.
+	 */
+	void dematerialize() {
+		if (figure == null) return;
+		final Figure fig = figure;
+		fig.removeFigureListener(figureListener);
+		figure = null;
+		displayViewer.getCanvas().figureDiscarded(this, fig);
+	}
+
+	// -- Helper methods --
+
+	/** Syncs the overlay, possibly deferred until the next frame of a drag. */
+	private void requestSync() {
+		displayViewer.getCanvas().getOverlaySyncThrottle().request(this);
+	}
+
+	/** Builds and updates the figure, without adding it to the drawing. */
+	private void materialize() {
+		figure = adapter.createDefaultFigure();
+		updatingFigure = true;
+		try {
+			adapter.updateFigure(overlayView, figure);
+		}
+		finally {
+			updatingFigure = false;
+		}
+		figure.addFigureListener(figureListener);
+		displayViewer.getCanvas().figureMaterialized(this);
 	}
 
 	private void updateFigure() {
 		if (updatingOverlay) return;
+		final boolean visible = getDisplay().isVisible(overlayView);
+		final boolean fresh = figure == null;
+		if (fresh) {
+			if (!visible) return; // NB: Nothing to update until shown.
+			materialize();
+		}
 		updatingFigure = true;
 		try {
-			adapter.updateFigure(overlayView, figure);
-			show(getDisplay().isVisible(overlayView));
+			if (!fresh && !figureSynced) adapter.updateFigure(overlayView, figure);
+			figureSynced = false;
+			show(visible);
 		}
 		finally {
 			updatingFigure = false;
@@ -0,0 +1,178 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.Timer;
+
+/**
+ * Throttles the propagation of figure changes to their overlays while the
+ * user drags the mouse on a {@link JHotDrawImageCanvas}.
+ * <p>
+ * Outside of a drag, each {@link OverlayFigureView} syncs its overlay right
+ * away. During a drag, syncs are deferred and performed at most once per
+ * frame by a Swing timer; any pending syncs are flushed when the drag ends.
+ * All methods must be called on the event dispatch thread.
+ * </p>
+ */
+public class OverlaySyncThrottle {
+
+	/** Default delay, in milliseconds, between throttled syncs. */
+	public static final int DEFAULT_DELAY = 16;
+
+	private final Timer timer;
+
+	/** Views awaiting a sync, with the time of their first deferral. */
+	private final Map<OverlayFigureView, Long> pending = new LinkedHashMap<>();
+
+	private boolean enabled = true;
+	private boolean dragging;
+
+	// -- statistics --
+
+	private long deferredCount;
+	private long syncCount;
+	private long totalLatency;
+	private long maxLatency;
+
+	public OverlaySyncThrottle() {
+		this(DEFAULT_DELAY);
+	}
+
+	public OverlaySyncThrottle(final int delay) {
+		timer = new Timer(delay, new ActionListener() {
+
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				flush();
+			}
+		});
+		timer.setRepeats(false);
+		timer.setCoalesce(true);
+	}
+
+	// -- OverlaySyncThrottle methods --
+
+	/** Gets whether syncs are throttled during drags. Enabled by default. */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/** Sets whether syncs are throttled during drags. */
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) flush();
+	}
+
+	/** Gets whether a drag is in progress. */
+	public boolean isDragging() {
+		return dragging;
+	}
+
+	/** Notes the start of a drag. */
+	public void beginDrag() {
+		dragging = true;
+	}
+
+	/** Notes the end of a drag, flushing all pending syncs. */
+	public void endDrag() {
+		dragging = false;
+		flush();
+	}
+
+	/**
+	 * Requests a sync of the given view's overlay, which happens immediately
+	 * unless a throttled drag is in progress.
+	 */
+	public void request(final OverlayFigureView view) {
+		if (!enabled || !dragging) {
+			view.syncOverlay();
+			return;
+		}
+		deferredCount++;
+		if (!pending.containsKey(view)) pending.put(view, System.nanoTime());
+		if (!timer.isRunning()) timer.start();
+	}
+
+	/** Discards any pending sync of the given view. */
+	public void cancel(final OverlayFigureView view) {
+		pending.remove(view);
+	}
+
+	/** Performs all pending syncs immediately. */
+	public void flush() {
+		timer.stop();
+		if (pending.isEmpty()) return;
+		// NB: Copy first, since a sync may trigger further requests.
+		final List<Map.Entry<OverlayFigureView, Long>> entries =
+			new ArrayList<>(pending.entrySet());
+		pending.clear();
+		for (final Map.Entry<OverlayFigureView, Long> entry : entries) {
+			entry.getKey().syncOverlay();
+			final long latency = System.nanoTime() - entry.getValue();
+			syncCount++;
+			totalLatency += latency;
+			if (latency > maxLatency) maxLatency = latency;
+		}
+	}
+
+	/** Gets the number of sync requests which were deferred. */
+	public long getDeferredCount() {
+		return deferredCount;
+	}
+
+	/** Gets the number of deferred syncs actually performed. */
+	public long getSyncCount() {
+		return syncCount;
+	}
+
+	/**
+	 * Gets the mean time, in milliseconds, from the first deferred request of
+	 * a view until its sync completed.
+	 */
+	public double getMeanLatency() {
+		return syncCount == 0 ? 0 : totalLatency / 1e6 / syncCount;
+	}
+
+	/**
+	 * Gets the maximum time, in milliseconds, from the first deferred request
+	 * of a view until its sync completed.
+	 */
+	public double getMaxLatency() {
+		return maxLatency / 1e6;
+	}
+
+}
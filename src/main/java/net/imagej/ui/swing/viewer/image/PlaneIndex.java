@@ -0,0 +1,215 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.axis.AxisType;
+import net.imagej.display.ImageDisplay;
+import net.imagej.display.OverlayView;
+
+/**
+ * Indexes figure views of overlays by the plane on which their overlays lie,
+ * so that the views visible on a given plane can be found without checking
+ * every view.
+ * <p>
+ * A plane is given by the display's positions along its non-XY axes. An
+ * overlay which spans one of those axes lies on every position of it; along
+ * the other axes, it lies only on its own position. Views are grouped by the
+ * set of axes their overlays span, then by their positions along the rest.
+ * </p>
+ */
+class PlaneIndex {
+
+	/** Non-XY axes of the display, at the time the index was built. */
+	private AxisType[] axes;
+
+	/** Views by bit mask of spanned axes, then by position along the others. */
+	private final Map<Long, Map<Key, List<FigureView>>> groups =
+		new HashMap<>();
+
+	/** The list of {@link #groups} holding each view. */
+	private final Map<FigureView, List<FigureView>> lists =
+		new IdentityHashMap<>();
+
+	/** Figure views which are not indexed, since they are not of overlays. */
+	private final List<FigureView> others = new ArrayList<>();
+
+	private boolean valid;
+
+	// -- PlaneIndex methods --
+
+	/** Gets the non-XY axes of the given display. */
+	public static AxisType[] planeAxes(final ImageDisplay display) {
+		final List<AxisType> axisTypes = new ArrayList<>();
+		for (int d = 0; d < display.numDimensions(); d++) {
+			final AxisType axisType = display.axis(d).type();
+			if (!axisType.isXY()) axisTypes.add(axisType);
+		}
+		return axisTypes.toArray(new AxisType[axisTypes.size()]);
+	}
+
+	/** Gets the display's current plane, along the given axes. */
+	public static long[] plane(final ImageDisplay display,
+		final AxisType[] axes)
+	{
+		final long[] plane = new long[axes.length];
+		for (int i = 0; i < axes.length; i++) {
+			plane[i] = display.getLongPosition(axes[i]);
+		}
+		return plane;
+	}
+
+	/** Gets whether the index is up to date, for the given axes. */
+	public boolean isValid(final AxisType[] planeAxes) {
+		return valid && Arrays.equals(axes, planeAxes);
+	}
+
+	/** Marks the index as out of date, e.g. since views were added. */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/** Rebuilds the index from scratch, over the given figure views. */
+	public void rebuild(final Collection<FigureView> figureViews,
+		final AxisType[] planeAxes)
+	{
+		groups.clear();
+		lists.clear();
+		others.clear();
+		axes = planeAxes;
+		valid = axes.length < Long.SIZE;
+		if (!valid) return; // NB: Too many axes for a bit mask.
+		for (final FigureView figureView : figureViews) {
+			if (figureView.getDataView() instanceof OverlayView) add(figureView);
+			else others.add(figureView);
+		}
+	}
+
+	/**
+	 * Moves the given view to its current plane, in case the position of its
+	 * overlay has changed. Does nothing if the view is not indexed.
+	 */
+	public void reindex(final FigureView view) {
+		final List<FigureView> views = lists.get(view);
+		if (views == null) return; // not indexed
+		if (views == list(view)) return; // still on the same plane
+		views.remove(view);
+		add(view);
+	}
+
+	/** Gets the figure views which are not of overlays, and so not indexed. */
+	public List<FigureView> others() {
+		return Collections.unmodifiableList(others);
+	}
+
+	/** Adds the views whose overlays lie on the given plane to a collection. */
+	public void collect(final long[] plane,
+		final Collection<? super FigureView> result)
+	{
+		final long[] pos = new long[plane.length];
+		for (final Map.Entry<Long, Map<Key, List<FigureView>>> entry :
+			groups.entrySet())
+		{
+			final long mask = entry.getKey();
+			for (int i = 0; i < pos.length; i++) {
+				pos[i] = (mask & (1L << i)) != 0 ? 0 : plane[i]; // 0 if spanned
+			}
+			final List<FigureView> views = entry.getValue().get(new Key(pos
+				.clone()));
+			if (views != null) result.addAll(views);
+		}
+	}
+
+	// -- Helper methods --
+
+	private void add(final FigureView view) {
+		final List<FigureView> views = list(view);
+		views.add(view);
+		lists.put(view, views);
+	}
+
+	/** Gets the list for the given view's plane, creating it as needed. */
+	private List<FigureView> list(final FigureView view) {
+		final OverlayView overlayView = (OverlayView) view.getDataView();
+		long mask = 0;
+		final long[] pos = new long[axes.length];
+		for (int i = 0; i < axes.length; i++) {
+			if (overlayView.getData().dimensionIndex(axes[i]) >= 0) {
+				mask |= 1L << i; // overlay spans this axis
+			}
+			else pos[i] = overlayView.getLongPosition(axes[i]);
+		}
+		Map<Key, List<FigureView>> group = groups.get(mask);
+		if (group == null) {
+			group = new HashMap<>();
+			groups.put(mask, group);
+		}
+		final Key key = new Key(pos);
+		List<FigureView> views = group.get(key);
+		if (views == null) {
+			views = new ArrayList<>();
+			group.put(key, views);
+		}
+		return views;
+	}
+
+	// -- Helper classes --
+
+	/** A position along the non-spanned axes, usable as a hash key. */
+	private static class Key {
+
+		private final long[] pos;
+		private final int hash;
+
+		public Key(final long[] pos) {
+			this.pos = pos;
+			hash = Arrays.hashCode(pos);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o instanceof Key && Arrays.equals(pos, ((Key) o).pos);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.scijava.thread.ThreadService;
+
+/**
+ * Runs the projections of asynchronous redraws in the background.
+ * <p>
+ * Each redraw request gets a sequence number. A projection which has not
+ * started yet is cancelled as soon as a newer request arrives, and one which
+ * has started is expected to check {@link #isLatest(long)} right before doing
+ * its work, skipping it if the request has been superseded meanwhile. Only the
+ * latest request's update is run, on the event dispatch thread.
+ * </p>
+ */
+class RedrawScheduler {
+
+	/** Projects the data of a display for one redraw request. */
+	interface Projection {
+
+		/** @return true iff the projection was performed */
+		boolean project(long request);
+	}
+
+	private final ThreadService threadService;
+	private final Projection projection;
+	private final Runnable update;
+
+	/** Sequence number of the most recent request. */
+	private final AtomicLong latest = new AtomicLong();
+
+	/** The most recently submitted projection. */
+	private Future<?> pending;
+
+	public RedrawScheduler(final ThreadService threadService,
+		final Projection projection, final Runnable update)
+	{
+		this.threadService = threadService;
+		this.projection = projection;
+		this.update = update;
+	}
+
+	// -- RedrawScheduler methods --
+
+	/** Gets whether the given request is still the most recent one. */
+	public boolean isLatest(final long request) {
+		return request == latest.get();
+	}
+
+	/**
+	 * Projects a new request right away, on the calling thread, followed by the
+	 * update.
+	 */
+	public void redrawNow() {
+		if (projection.project(latest.incrementAndGet())) update.run();
+	}
+
+	/**
+	 * Requests a new projection in the background, superseding all earlier
+	 * requests.
+	 */
+	public synchronized void redrawLater() {
+		final long request = latest.incrementAndGet();
+		// NB: A projection which has not started yet is now obsolete.
+		if (pending != null) pending.cancel(false);
+		pending = threadService.run(new Runnable() {
+
+			@Override
+			public void run() {
+				if (!projection.project(request)) return;
+				threadService.queue(new Runnable() {
+
+					@Override
+					public void run() {
+						// only the latest projection refreshes the canvas
+						if (isLatest(request)) update.run();
+					}
+				});
+			}
+		});
+	}
+
+}
@@ -37,9 +37,12 @@ import java.awt.Dimension;
 import java.awt.Rectangle;
 import java.awt.event.AdjustmentEvent;
 import java.awt.event.AdjustmentListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.JLabel;
@@ -49,8 +52,10 @@ import javax.swing.SwingConstants;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 
+import net.imagej.Dataset;
 import net.imagej.axis.Axes;
 import net.imagej.axis.AxisType;
+import net.imagej.display.ColorMode;
 import net.imagej.display.DatasetView;
 import net.imagej.display.ImageCanvas;
 import net.imagej.display.ImageDisplay;
@@ -61,11 +66,15 @@ import net.imagej.display.event.LUTsChangedEvent;
 import net.imagej.ui.swing.SwingColorBar;
 import net.imagej.ui.viewer.image.ImageDisplayPanel;
 import net.imglib2.display.ColorTable;
+import net.imglib2.display.projector.composite.CompositeXYProjector;
+import net.imglib2.display.screenimage.awt.ARGBScreenImage;
 import net.miginfocom.swing.MigLayout;
 
 import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.plugin.Parameter;
+import org.scijava.thread.ThreadService;
+import org.scijava.ui.awt.AWTImageTools;
 import org.scijava.ui.awt.AWTInputEventDispatcher;
 import org.scijava.ui.swing.StaticSwingUtils;
 import org.scijava.ui.viewer.DisplayWindow;
@@ -97,12 +106,42 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 	private final Map<AxisType, JLabel> axisLabels =
 		new HashMap<>();
 
+	/** Whether projection happens on a background thread. */
+	private boolean asyncRedraw;
+
+	/** Runs the projections of redraw requests. */
+	private final RedrawScheduler redrawScheduler;
+
+	/**
+	 * Asynchronous projections, which the canvas paints instead of the screen
+	 * image.
+	 */
+	private volatile ProjectionBuffer projectionBuffer;
+
+	/** Whether bursts of axis position changes share one display update. */
+	private boolean coalescingUpdates;
+
+	/** Axes whose position changed since the last coalesced update. */
+	private final Set<AxisType> pendingAxes = ConcurrentHashMap.newKeySet();
+
+	private final DisplayUpdateCoalescer updateCoalescer =
+		new DisplayUpdateCoalescer(new Runnable() {
+
+			@Override
+			public void run() {
+				updatePendingAxes();
+			}
+		});
+
 	@Parameter
 	private ImageDisplayService imageDisplayService;
 
 	@Parameter
 	private EventService eventService;
 
+	@Parameter
+	private ThreadService threadService;
+
 	// -- constructors --
 
 	public SwingImageDisplayPanel(final SwingImageDisplayViewer displayViewer,
@@ -141,6 +180,21 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 		window.setContent(this);
 
 		display.getContext().inject(this);
+
+		redrawScheduler = new RedrawScheduler(threadService,
+			new RedrawScheduler.Projection() {
+
+				@Override
+				public boolean project(final long request) {
+					return SwingImageDisplayPanel.this.project(request);
+				}
+			}, new Runnable() {
+
+				@Override
+				public void run() {
+					updateCanvas();
+				}
+			});
 	}
 
 	// -- SwingDisplayPanel methods --
@@ -149,6 +203,50 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 		dispatcher.register(this, true, false);
 	}
 
+	/**
+	 * Gets whether {@link #redraw()} projects the active dataset view
+	 * asynchronously.
+	 */
+	public boolean isAsyncRedraw() {
+		return asyncRedraw;
+	}
+
+	/**
+	 * Sets whether {@link #redraw()} projects the active dataset view
+	 * asynchronously. When enabled, projection runs on a background thread;
+	 * requests which are superseded by a newer one before they start are
+	 * cancelled, and only the most recent projection is handed over to the
+	 * event dispatch thread to refresh the canvas. Each projection is written
+	 * into a back buffer of the panel's own rather than into the view's screen
+	 * image, and swapped to the front on the event dispatch thread, so a frame
+	 * is never shown half projected. Disabled by default.
+	 */
+	public void setAsyncRedraw(final boolean asyncRedraw) {
+		this.asyncRedraw = asyncRedraw;
+		if (!asyncRedraw) projectionBuffer = null;
+	}
+
+	/** Gets whether axis position changes are coalesced. */
+	public boolean isCoalescingUpdates() {
+		return coalescingUpdates;
+	}
+
+	/**
+	 * Sets whether axis position changes are coalesced. When enabled, a burst
+	 * of position changes (e.g., dragging a slider, spinning the mouse wheel or
+	 * animating) results in at most one display update per frame, rather than
+	 * one per change. Disabled by default.
+	 */
+	public void setCoalescingUpdates(final boolean coalescingUpdates) {
+		this.coalescingUpdates = coalescingUpdates;
+		if (!coalescingUpdates) updateCoalescer.flush();
+	}
+
+	/** Gets the coalescer responsible for axis position updates. */
+	public DisplayUpdateCoalescer getUpdateCoalescer() {
+		return updateCoalescer;
+	}
+
 	// -- ImageDisplayPanel methods --
 
 	@Override
@@ -196,10 +294,29 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 
 	@Override
 	public void redraw() {
-		final DatasetView view = imageDisplayService.getActiveDatasetView(display);
-		if (view == null || view.getProjector() == null) return; // no active dataset
-		view.getProjector().map();
-		displayViewer.getCanvas().update();
+		if (asyncRedraw) redrawScheduler.redrawLater();
+		else redrawScheduler.redrawNow();
+	}
+
+	// -- Internal methods --
+
+	/**
+	 * Gets the image to paint for the given dataset view: the most recent
+	 * complete projection when projecting asynchronously, or null if the
+	 * screen image can be painted directly. Must be called on the event
+	 * dispatch thread.
+	 */
+	BufferedImage getProjectedImage(final DatasetView view) {
+		if (!asyncRedraw) return null;
+		ProjectionBuffer buffer = projectionBuffer;
+		if (buffer == null || buffer.view != view) {
+			// NB: Nothing projected in the background yet; project a first frame.
+			synchronized (view) {
+				buffer = buffer(view);
+				buffer.project();
+			}
+		}
+		return buffer.swap();
 	}
 
 	// -- Event handlers --
@@ -208,6 +325,11 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 	protected void onEvent(final AxisPositionEvent event) {
 		if (event.getDisplay() != getDisplay()) return;
 		final AxisType axis = event.getAxis();
+		if (coalescingUpdates) {
+			pendingAxes.add(axis);
+			updateCoalescer.request();
+			return;
+		}
 		updateAxis(axis);
 		eventService.publish(new DelayedPositionEvent(display, axis));
 	}
@@ -221,6 +343,42 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 
 	// -- Helper methods --
 
+	/**
+	 * Projects the active dataset view, unless the given request has been
+	 * superseded in the meantime.
+	 * 
+	 * @return true iff the projection was performed
+	 */
+	private boolean project(final long request) {
+		final DatasetView view =
+			imageDisplayService.getActiveDatasetView(display);
+		if (view == null || view.getProjector() == null) return false; // no active dataset
+		// NB: Projections take turns on the view, which is also the lock
+		// OffscreenCaptureService holds while reading the screen image.
+		synchronized (view) {
+			if (!redrawScheduler.isLatest(request)) return false; // superseded
+			if (asyncRedraw) buffer(view).project();
+			else view.getProjector().map();
+			return true;
+		}
+	}
+
+	/** Gets the projection buffer for the given view, creating it if needed. */
+	private ProjectionBuffer buffer(final DatasetView view) {
+		ProjectionBuffer buffer = projectionBuffer;
+		if (buffer == null || buffer.view != view) {
+			buffer = new ProjectionBuffer(view);
+			projectionBuffer = buffer;
+		}
+		return buffer;
+	}
+
+	private void updateCanvas() {
+		final JHotDrawImageCanvas canvas = displayViewer.getCanvas();
+		if (canvas == null) return; // viewer already disposed
+		canvas.update();
+	}
+
 	private void createSliders() {
 		// remove obsolete sliders
 		for (final AxisType axis : axisSliders.keySet()) {
@@ -306,11 +464,32 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 	// the changes being made.
 	
 	private void updateAxis(final AxisType axis) {
+		updateAxisControls(axis);
+		getDisplay().update();
+	}
+
+	private void updateAxisControls(final AxisType axis) {
 		final int value = (int) display.getLongPosition(axis);
 		if (axis == Axes.CHANNEL) updateColorBar(value);
 		final JScrollBar scrollBar = axisSliders.get(axis);
 		if (scrollBar != null) scrollBar.setValue(value);
+	}
+
+	/**
+	 * Brings the controls of every axis changed since the last coalesced update
+	 * in line with the display, then updates the display once for all of them.
+	 */
+	private void updatePendingAxes() {
+		final List<AxisType> axes = new ArrayList<>(pendingAxes);
+		pendingAxes.removeAll(axes);
+		if (axes.isEmpty()) return;
+		for (final AxisType axis : axes) {
+			updateAxisControls(axis);
+		}
 		getDisplay().update();
+		for (final AxisType axis : axes) {
+			eventService.publish(new DelayedPositionEvent(display, axis));
+		}
 	}
 
 	private double findFullyVisibleScale() {
@@ -354,4 +533,76 @@ public class SwingImageDisplayPanel extends JPanel implements ImageDisplayPanel
 		return 1;
 	}
 
+	// -- Helper classes --
+
+	/**
+	 * Double buffer between the projector and the canvas, which paints on the
+	 * event dispatch thread. Each projection is written straight into the back
+	 * screen image, by a projector of its own which mirrors the view's, and
+	 * becomes the front one on the next {@link #swap()}. The front screen image
+	 * is never written, and the view's own screen image is left alone.
+	 */
+	private static class ProjectionBuffer {
+
+		private final DatasetView view;
+		private ARGBScreenImage front, back;
+
+		/** Whether the back buffer holds a projection not yet swapped in. */
+		private boolean ready;
+
+		public ProjectionBuffer(final DatasetView view) {
+			this.view = view;
+		}
+
+		/**
+		 * Projects the current plane of the view into the back buffer. The
+		 * caller must hold the view's lock.
+		 */
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public void project() {
+			ARGBScreenImage target;
+			synchronized (this) {
+				// NB: Detach the back buffer, so it is not swapped in half written.
+				target = back;
+				back = null;
+				ready = false;
+			}
+			final ARGBScreenImage screenImage = view.getScreenImage();
+			final int w = (int) screenImage.dimension(0);
+			final int h = (int) screenImage.dimension(1);
+			if (target == null || target.dimension(0) != w ||
+				target.dimension(1) != h)
+			{
+				target = new ARGBScreenImage(w, h);
+			}
+
+			final Dataset dataset = view.getData();
+			final CompositeXYProjector projector = new CompositeXYProjector(dataset
+				.getImgPlus(), target, new ArrayList(view.getConverters()), dataset
+					.dimensionIndex(Axes.CHANNEL));
+			projector.setComposite(view.getColorMode() == ColorMode.COMPOSITE);
+			for (int d = 2; d < dataset.numDimensions(); d++) {
+				projector.setPosition(view.getLongPosition(dataset.axis(d).type()),
+					d);
+			}
+			projector.map();
+
+			synchronized (this) {
+				back = target;
+				ready = true;
+			}
+		}
+
+		/** Swaps in the latest projection, if any, and gets the front buffer. */
+		public synchronized BufferedImage swap() {
+			if (ready) {
+				final ARGBScreenImage image = front;
+				front = back;
+				back = image;
+				ready = false;
+			}
+			return front == null ? null : AWTImageTools.makeBuffered(front.image());
+		}
+	}
+
 }
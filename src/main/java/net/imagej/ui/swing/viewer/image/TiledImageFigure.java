@@ -0,0 +1,159 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jhotdraw.draw.ImageFigure;
+
+/**
+ * An {@link ImageFigure} which, when tiled rendering is enabled on its
+ * {@link JHotDrawImageCanvas}, splits its image into fixed-size tiles and only
+ * draws the tiles which intersect both the current clip and the canvas
+ * viewport. This keeps the cost of a repaint proportional to the visible
+ * region rather than to the size of the whole plane.
+ */
+public class TiledImageFigure extends ImageFigure {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Default edge length, in image pixels, of a single tile. */
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	private final JHotDrawImageCanvas canvas;
+
+	private int tileSize = DEFAULT_TILE_SIZE;
+
+	/** Reusable clip bounds, to avoid allocating on every repaint. */
+	private final Rectangle clip = new Rectangle();
+
+	public TiledImageFigure(final JHotDrawImageCanvas canvas) {
+		this.canvas = canvas;
+	}
+
+	// -- TiledImageFigure methods --
+
+	/** Gets the edge length, in image pixels, of a single tile. */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/** Sets the edge length, in image pixels, of a single tile. */
+	public void setTileSize(final int tileSize) {
+		if (tileSize <= 0) {
+			throw new IllegalArgumentException("Invalid tile size: " + tileSize);
+		}
+		this.tileSize = tileSize;
+	}
+
+	// -- Figure methods --
+
+	@Override
+	public void draw(final Graphics2D g) {
+		final BufferedImage image = getBufferedImage();
+		if (image == null || !canvas.isTiledRendering()) {
+			super.draw(g);
+			return;
+		}
+		drawTiles(g, image, getBounds(), canvas.getViewportBounds(), tileSize,
+			clip);
+	}
+
+	// -- Internal methods --
+
+	/**
+	 * Draws those tiles of the given image which intersect both the clip of the
+	 * graphics context and the given viewport.
+	 * 
+	 * @param bounds the area the whole image is drawn to, in drawing coordinates
+	 * @param viewport the visible area, in drawing coordinates, or null
+	 * @param clip a rectangle to reuse for the clip bounds
+	 */
+	static void drawTiles(final Graphics2D g, final BufferedImage image,
+		final Rectangle2D.Double bounds, final Rectangle2D viewport,
+		final int tileSize, final Rectangle clip)
+	{
+		final int imageWidth = image.getWidth();
+		final int imageHeight = image.getHeight();
+		if (imageWidth <= 0 || imageHeight <= 0) return;
+
+		// NB: The figure bounds are in drawing coordinates, and need not match
+		// the image dimensions one-to-one.
+		final double sx = bounds.width / imageWidth;
+		final double sy = bounds.height / imageHeight;
+		if (sx <= 0 || sy <= 0) return;
+
+		// determine the visible region, in drawing coordinates
+		Rectangle2D visible = bounds;
+		if (g.getClip() != null) {
+			g.getClipBounds(clip);
+			visible = visible.createIntersection(clip);
+		}
+		if (viewport != null) visible = visible.createIntersection(viewport);
+		if (visible.isEmpty()) return;
+
+		// convert the visible region to a range of tile indices
+		final int minX = clamp((int) ((visible.getMinX() - bounds.x) / sx) - 1,
+			imageWidth);
+		final int minY = clamp((int) ((visible.getMinY() - bounds.y) / sy) - 1,
+			imageHeight);
+		final int maxX = clamp((int) Math.ceil((visible.getMaxX() - bounds.x) /
+			sx) + 1, imageWidth);
+		final int maxY = clamp((int) Math.ceil((visible.getMaxY() - bounds.y) /
+			sy) + 1, imageHeight);
+		final int firstCol = minX / tileSize, lastCol = (maxX - 1) / tileSize;
+		final int firstRow = minY / tileSize, lastRow = (maxY - 1) / tileSize;
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			final int y1 = row * tileSize;
+			final int y2 = Math.min(y1 + tileSize, imageHeight);
+			final int dy1 = (int) Math.round(bounds.y + y1 * sy);
+			final int dy2 = (int) Math.round(bounds.y + y2 * sy);
+			for (int col = firstCol; col <= lastCol; col++) {
+				final int x1 = col * tileSize;
+				final int x2 = Math.min(x1 + tileSize, imageWidth);
+				final int dx1 = (int) Math.round(bounds.x + x1 * sx);
+				final int dx2 = (int) Math.round(bounds.x + x2 * sx);
+				// NB: Draws the tile straight from the backing image; no copy.
+				g.drawImage(image, dx1, dy1, dx2, dy2, x1, y1, x2, y2, null);
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	private static int clamp(final int value, final int max) {
+		return value < 0 ? 0 : value > max ? max : value;
+	}
+
+}
@@ -0,0 +1,215 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.imagej.ui.swing.overlay.BezierPathFunctions.PathSink;
+import net.imglib2.roi.GeneralPathRegionOfInterest;
+
+import org.jhotdraw.geom.BezierPath;
+import org.junit.Test;
+
+/**
+ * Tests the conversions of {@link BezierPathFunctions} between
+ * {@link PathIterator}s, {@link BezierPath}s and ROIs.
+ */
+public class BezierPathFunctionsTest {
+
+	@Test
+	public void testCurves() {
+		final Path2D.Double shape = curves();
+		final BezierPath path =
+			BezierPathFunctions.toBezierPath(shape.getPathIterator(null));
+		assertEquals(4, path.size());
+		assertEquals(Arrays.asList("M 0.0 0.0", "L 10.0 0.0",
+			"Q 15.0 5.0 10.0 10.0", "C 8.0 12.0 2.0 12.0 0.0 10.0"), segments(path));
+		assertEquals(segments(shape.getPathIterator(null)), segments(path));
+	}
+
+	@Test
+	public void testClose() {
+		final Path2D.Double shape = curves();
+		shape.closePath();
+		final BezierPath path =
+			BezierPathFunctions.toBezierPath(shape.getPathIterator(null));
+		assertTrue(path.isClosed());
+		assertEquals(4, path.size());
+		// NB: The closing segment back to the first node is made explicit.
+		assertEquals(Arrays.asList("M 0.0 0.0", "L 10.0 0.0",
+			"Q 15.0 5.0 10.0 10.0", "C 8.0 12.0 2.0 12.0 0.0 10.0", "L 0.0 0.0",
+			"Z"), segments(path));
+	}
+
+	@Test
+	public void testEmpty() {
+		final BezierPath path =
+			BezierPathFunctions.toBezierPath(new Path2D.Double().getPathIterator(
+				null));
+		assertEquals(0, path.size());
+		assertEquals(Collections.emptyList(), segments(path));
+	}
+
+	@Test
+	public void testSingleNode() {
+		final Path2D.Double shape = new Path2D.Double();
+		shape.moveTo(3, 4);
+		final BezierPath path =
+			BezierPathFunctions.toBezierPath(shape.getPathIterator(null));
+		assertEquals(1, path.size());
+		assertEquals(Arrays.asList("M 3.0 4.0"), segments(path));
+
+		path.setClosed(true);
+		assertEquals(Arrays.asList("M 3.0 4.0", "Z"), segments(path));
+	}
+
+	@Test
+	public void testRegionOfInterest() {
+		final BezierPath path =
+			BezierPathFunctions.toBezierPath(curves().getPathIterator(null));
+		final GeneralPathRegionOfInterest roi = new GeneralPathRegionOfInterest();
+		BezierPathFunctions.addToRegionOfInterest(path, roi);
+		assertEquals(segments(path), segments(roi.getGeneralPath()
+			.getPathIterator(null)));
+		assertEquals(segments(path), segments(BezierPathFunctions
+			.toBezierPath(roi)));
+
+		// a closed path reaches the ROI with its closing segment
+		path.setClosed(true);
+		final GeneralPathRegionOfInterest closed =
+			new GeneralPathRegionOfInterest();
+		BezierPathFunctions.addToRegionOfInterest(path, closed);
+		assertEquals(segments(path), segments(closed.getGeneralPath()
+			.getPathIterator(null)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownSegmentType() {
+		final PathIterator iterator = new PathIterator() {
+
+			@Override
+			public int getWindingRule() {
+				return WIND_NON_ZERO;
+			}
+
+			@Override
+			public boolean isDone() {
+				return false;
+			}
+
+			@Override
+			public void next() {
+				// NB: No-op.
+			}
+
+			@Override
+			public int currentSegment(final float[] coords) {
+				return 42;
+			}
+
+			@Override
+			public int currentSegment(final double[] coords) {
+				return 42;
+			}
+		};
+		BezierPathFunctions.toBezierPath(iterator);
+	}
+
+	// -- Helper methods --
+
+	/** An open path with a line, a quadratic and a cubic segment. */
+	private static Path2D.Double curves() {
+		final Path2D.Double shape = new Path2D.Double();
+		shape.moveTo(0, 0);
+		shape.lineTo(10, 0);
+		shape.quadTo(15, 5, 10, 10);
+		shape.curveTo(8, 12, 2, 12, 0, 10);
+		return shape;
+	}
+
+	private static List<String> segments(final BezierPath path) {
+		final Recorder recorder = new Recorder();
+		BezierPathFunctions.stream(path, recorder);
+		return recorder.segments;
+	}
+
+	private static List<String> segments(final PathIterator iterator) {
+		final Recorder recorder = new Recorder();
+		BezierPathFunctions.stream(iterator, recorder);
+		return recorder.segments;
+	}
+
+	// -- Helper classes --
+
+	/** Records the segments it receives, one string per segment. */
+	private static class Recorder implements PathSink {
+
+		private final List<String> segments = new ArrayList<>();
+
+		@Override
+		public void moveTo(final double x, final double y) {
+			segments.add("M " + x + " " + y);
+		}
+
+		@Override
+		public void lineTo(final double x, final double y) {
+			segments.add("L " + x + " " + y);
+		}
+
+		@Override
+		public void quadTo(final double x1, final double y1, final double x2,
+			final double y2)
+		{
+			segments.add("Q " + x1 + " " + y1 + " " + x2 + " " + y2);
+		}
+
+		@Override
+		public void cubicTo(final double x1, final double y1, final double x2,
+			final double y2, final double x3, final double y3)
+		{
+			segments.add("C " + x1 + " " + y1 + " " + x2 + " " + y2 + " " + x3 +
+				" " + y3);
+		}
+
+		@Override
+		public void close() {
+			segments.add("Z");
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.util.List;
+
+import org.jhotdraw.draw.BezierFigure;
+import org.jhotdraw.geom.BezierPath.Node;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the composite path of {@link GeneralPathFigure}.
+ */
+public class GeneralPathFigureTest {
+
+	/** A change to one child figure shows in the composite path. */
+	@Test
+	public void testChildChanged() {
+		final BezierFigure left = square(0, 0);
+		final BezierFigure right = square(20, 0);
+		final GeneralPathFigure figure = new GeneralPathFigure(left, right);
+		final GeneralPath before = figure.getGeneralPath();
+		assertSame(before, figure.getGeneralPath()); // cached
+		assertTrue(before.contains(5, 5));
+		assertTrue(before.contains(25, 5));
+		assertFalse(before.contains(35, 5));
+
+		right.willChange();
+		right.transform(AffineTransform.getTranslateInstance(10, 0));
+		right.changed();
+
+		final GeneralPath after = figure.getGeneralPath();
+		assertNotSame(before, after);
+		assertTrue(after.contains(5, 5));
+		assertFalse(after.contains(25, 5));
+		assertTrue(after.contains(35, 5));
+	}
+
+	/** Restoring the children from a transform drops the cached path. */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testRestoreTransform() {
+		final GeneralPathFigure figure = new GeneralPathFigure(square(0, 0));
+		final Object original = figure.getTransformRestoreData();
+		final Object moved =
+			new GeneralPathFigure(square(100, 0)).getTransformRestoreData();
+		assertTrue(figure.getGeneralPath().contains(5, 5));
+
+		figure.restoreTransformTo(moved);
+		assertFalse(figure.getGeneralPath().contains(5, 5));
+		assertTrue(figure.getGeneralPath().contains(105, 5));
+
+		figure.restoreTransformTo(original);
+		assertTrue(figure.getGeneralPath().contains(5, 5));
+		assertFalse(figure.getGeneralPath().contains(105, 5));
+
+		// the restored children are still listened to
+		final BezierFigure child = ((List<BezierFigure>) original).get(0);
+		child.willChange();
+		child.transform(AffineTransform.getTranslateInstance(50, 0));
+		child.changed();
+		assertFalse(figure.getGeneralPath().contains(5, 5));
+		assertTrue(figure.getGeneralPath().contains(55, 5));
+	}
+
+	// -- Helper methods --
+
+	/** Creates a closed 10 x 10 square figure at the given position. */
+	private static BezierFigure square(final double x, final double y) {
+		final BezierFigure figure = new BezierFigure(true);
+		figure.addNode(new Node(x, y));
+		figure.addNode(new Node(x + 10, y));
+		figure.addNode(new Node(x + 10, y + 10));
+		figure.addNode(new Node(x, y + 10));
+		return figure;
+	}
+
+}
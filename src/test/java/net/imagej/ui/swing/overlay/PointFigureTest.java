@@ -0,0 +1,177 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jhotdraw.draw.AttributeKeys;
+import org.junit.Test;
+import org.scijava.util.ColorRGB;
+
+/**
+ * Tests {@link PointFigure}.
+ */
+public class PointFigureTest {
+
+	private static final int POINTS = 500;
+	private static final int QUERIES = 5000;
+
+	/** Width and height of the rendered images. */
+	private static final int SIZE = 100;
+
+	/** The grid index finds the same points as checking every one of them. */
+	@Test
+	public void testContains() {
+		final PointFigure figure = new PointFigure(randomPoints(new Random(1)));
+		assertContains(figure, new Random(2));
+
+		// the grid moves along with the points
+		final double dx = 5.5, dy = -3.25;
+		final List<double[]> before = figure.getPoints();
+		figure.transform(AffineTransform.getTranslateInstance(dx, dy));
+		for (int i = 0; i < POINTS; i++) {
+			assertEquals(before.get(i)[0] + dx, figure.getPointX(i), 1e-9);
+			assertEquals(before.get(i)[1] + dy, figure.getPointY(i), 1e-9);
+		}
+		assertContains(figure, new Random(3));
+	}
+
+	/** A clone has points of its own. */
+	@Test
+	public void testClone() {
+		final PointFigure figure = new PointFigure(randomPoints(new Random(4)));
+		final List<double[]> before = figure.getPoints();
+		final PointFigure clone = figure.clone();
+		assertNotSame(figure, clone);
+
+		clone.move(10, 20);
+		for (int i = 0; i < POINTS; i++) {
+			assertEquals(before.get(i)[0], figure.getPointX(i), 0);
+			assertEquals(before.get(i)[1], figure.getPointY(i), 0);
+			assertEquals(before.get(i)[0] + 10, clone.getPointX(i), 1e-9);
+			assertEquals(before.get(i)[1] + 20, clone.getPointY(i), 1e-9);
+		}
+		assertContains(figure, new Random(5));
+		assertContains(clone, new Random(6));
+	}
+
+	/** Overlapping markers are painted as if one after the other. */
+	@Test
+	public void testPaintOrder() {
+		final List<double[]> points = new ArrayList<>();
+		final Random random = new Random(7);
+		for (int i = 0; i < 200; i++) {
+			// NB: Crowded enough that most markers overlap some others.
+			points.add(new double[] { 10 + 80 * random.nextDouble(),
+				10 + 80 * random.nextDouble() });
+		}
+		final PointFigure figure = new PointFigure(points);
+		figure.setFillColor(new ColorRGB(255, 0, 0));
+		figure.setLineColor(new ColorRGB(0, 0, 255));
+		final BufferedImage batched = blankImage();
+		final Graphics2D g = batched.createGraphics();
+		figure.draw(g);
+		g.dispose();
+
+		final BufferedImage single = blankImage();
+		final Graphics2D g2 = single.createGraphics();
+		for (final double[] point : points) {
+			final PointFigure marker = new PointFigure(point);
+			marker.setFillColor(new ColorRGB(255, 0, 0));
+			marker.setLineColor(new ColorRGB(0, 0, 255));
+			marker.draw(g2);
+		}
+		g2.dispose();
+
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				assertEquals("(" + x + ", " + y + ")", single.getRGB(x, y), batched
+					.getRGB(x, y));
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	private static BufferedImage blankImage() {
+		return new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	private static List<double[]> randomPoints(final Random random) {
+		final List<double[]> points = new ArrayList<>();
+		for (int i = 0; i < POINTS; i++) {
+			points.add(new double[] { 100 * random.nextDouble(),
+				100 * random.nextDouble() });
+		}
+		return points;
+	}
+
+	/** Checks {@link PointFigure#contains} against a brute-force scan. */
+	private static void assertContains(final PointFigure figure,
+		final Random random)
+	{
+		final double size = 1.0;
+		final double grow = AttributeKeys.getPerpendicularHitGrowth(figure) + 1d;
+		final Point2D.Double p = new Point2D.Double();
+		for (int q = 0; q < QUERIES; q++) {
+			// NB: Half of the queries are right next to a point.
+			if (q % 2 == 0) {
+				final int i = random.nextInt(figure.getPointCount());
+				p.x = figure.getPointX(i) + 6 * random.nextDouble() - 3;
+				p.y = figure.getPointY(i) + 6 * random.nextDouble() - 3;
+			}
+			else {
+				p.x = 120 * random.nextDouble() - 10;
+				p.y = 120 * random.nextDouble() - 10;
+			}
+			boolean expected = false;
+			for (int i = 0; i < figure.getPointCount(); i++) {
+				final double x = figure.getPointX(i), y = figure.getPointY(i);
+				if (x > p.x - size - grow && x <= p.x + grow &&
+					y > p.y - size - grow && y <= p.y + grow)
+				{
+					expected = true;
+					break;
+				}
+			}
+			assertEquals(p.toString(), expected, figure.contains(p));
+		}
+	}
+
+}
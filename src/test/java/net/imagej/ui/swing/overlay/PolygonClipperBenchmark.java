@@ -0,0 +1,167 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.imagej.ui.swing.overlay.BezierPathFunctions.Engine;
+import net.imagej.ui.swing.overlay.BezierPathFunctions.OP;
+
+/**
+ * Compares the {@link Engine#AREA} and {@link Engine#POLYGON} engines of
+ * {@link BezierPathFunctions} on pairs of overlapping, jagged polygons with
+ * 100 up to 3,000 vertices each, as produced e.g. by tracing segmentation
+ * masks. Prints the average time per operation, followed by the time taken
+ * by each engine to merge hundreds of cell outlines, both one by one and as a
+ * balanced tree.
+ */
+public class PolygonClipperBenchmark {
+
+	private static final int WARMUP = 3;
+	private static final int ITERATIONS = 5;
+	private static final int CELL_VERTICES = 64;
+
+	public static void main(final String... args) {
+		for (final int count : new int[] { 100, 300, 1000, 3000 }) {
+			final Shape shape1 = createPolygon(count, 500, new Random(count));
+			final Shape shape2 = createPolygon(count, 550, new Random(-count));
+			for (final OP op : OP.values()) {
+				final double area = benchmark(shape1, shape2, op, Engine.AREA);
+				final double polygon = benchmark(shape1, shape2, op, Engine.POLYGON);
+				System.out.println(String.format(
+					"n=%5d  %-9s  area %9.2f ms  polygon %9.2f ms  (%.1fx)", count, op,
+					area, polygon, area / polygon));
+			}
+		}
+		for (final int cells : new int[] { 100, 300 }) {
+			final List<Shape> shapes = createCells(cells);
+			for (final Engine engine : Engine.values()) {
+				final double fold = benchmarkFold(shapes, engine);
+				final double tree = benchmarkTree(shapes, engine);
+				System.out.println(String.format(
+					"cells=%4d  union %-7s  fold %9.2f ms  tree %9.2f ms  (%.1fx)",
+					cells, engine, fold, tree, fold / tree));
+			}
+		}
+	}
+
+	/** Creates touching and overlapping cell outlines on a grid. */
+	private static List<Shape> createCells(final int count) {
+		final Random random = new Random(count);
+		final int columns = (int) Math.ceil(Math.sqrt(count));
+		final List<Shape> shapes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final double x = 30 * (i % columns) + 5 * random.nextDouble();
+			final double y = 30 * (i / columns) + 5 * random.nextDouble();
+			final Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+			for (int j = 0; j < CELL_VERTICES; j++) {
+				final double angle = 2 * Math.PI * j / CELL_VERTICES;
+				final double radius = 20 * (0.8 + 0.2 * random.nextDouble());
+				final double px = x + radius * Math.cos(angle);
+				final double py = y + radius * Math.sin(angle);
+				if (j == 0) path.moveTo(px, py);
+				else path.lineTo(px, py);
+			}
+			path.closePath();
+			shapes.add(path);
+		}
+		return shapes;
+	}
+
+	private static Shape createPolygon(final int count, final double centerX,
+		final Random random)
+	{
+		final Path2D.Double path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+		for (int i = 0; i < count; i++) {
+			final double angle = 2 * Math.PI * i / count;
+			final double radius = 400 * (0.8 + 0.2 * random.nextDouble());
+			final double x = centerX + radius * Math.cos(angle);
+			final double y = 500 + radius * Math.sin(angle);
+			if (i == 0) path.moveTo(x, y);
+			else path.lineTo(x, y);
+		}
+		path.closePath();
+		return path;
+	}
+
+	private static double benchmark(final Shape shape1, final Shape shape2,
+		final OP op, final Engine engine)
+	{
+		for (int i = 0; i < WARMUP; i++) {
+			BezierPathFunctions.op(shape1, shape2, op, engine);
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			BezierPathFunctions.op(shape1, shape2, op, engine);
+		}
+		return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+	}
+
+	/** Times the union of all shapes, added one by one to the result. */
+	private static double benchmarkFold(final List<Shape> shapes,
+		final Engine engine)
+	{
+		for (int i = 0; i < WARMUP; i++) {
+			fold(shapes, engine);
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			fold(shapes, engine);
+		}
+		return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+	}
+
+	/** Times the union of all shapes, merged as a balanced tree. */
+	private static double benchmarkTree(final List<Shape> shapes,
+		final Engine engine)
+	{
+		for (int i = 0; i < WARMUP; i++) {
+			BezierPathFunctions.op(shapes, OP.ADD, engine);
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			BezierPathFunctions.op(shapes, OP.ADD, engine);
+		}
+		return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+	}
+
+	private static Shape fold(final List<Shape> shapes, final Engine engine) {
+		Shape result = shapes.get(0);
+		for (int i = 1; i < shapes.size(); i++) {
+			result = BezierPathFunctions.op(result, shapes.get(i), OP.ADD, engine);
+		}
+		return result;
+	}
+
+}
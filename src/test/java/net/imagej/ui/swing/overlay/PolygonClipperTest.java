@@ -0,0 +1,286 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.imagej.ui.swing.overlay.BezierPathFunctions.Engine;
+import net.imagej.ui.swing.overlay.BezierPathFunctions.OP;
+
+import org.jhotdraw.geom.BezierPath;
+import org.junit.Test;
+
+/**
+ * Tests {@link PolygonClipper} against {@link Area}.
+ */
+public class PolygonClipperTest {
+
+	private static final int SAMPLES = 2000;
+
+	@Test
+	public void testOverlappingSquares() {
+		final Shape square1 = new Rectangle2D.Double(0, 0, 10, 10);
+		final Shape square2 = new Rectangle2D.Double(5, 5, 10, 10);
+		for (final OP op : OP.values()) {
+			assertSameRegion(op, square1, square2);
+		}
+		final GeneralPath intersection =
+			PolygonClipper.op(square1, square2, OP.INTERSECT);
+		assertEquals(new Rectangle2D.Double(5, 5, 5, 5), intersection
+			.getBounds2D());
+	}
+
+	@Test
+	public void testSharedEdges() {
+		final Shape square = new Rectangle2D.Double(0, 0, 10, 10);
+		final Shape half = new Rectangle2D.Double(0, 0, 5, 10);
+		for (final OP op : OP.values()) {
+			assertSameRegion(op, square, half);
+			assertSameRegion(op, square, square);
+		}
+		assertTrue(PolygonClipper.op(square, square, OP.XOR).getBounds2D()
+			.isEmpty());
+	}
+
+	@Test
+	public void testCollinearOverlaps() {
+		// NB: A degenerate polygon whose edges all overlap on one line.
+		final Path2D.Double line = polygon(Path2D.WIND_EVEN_ODD, 102, 50, 34, 50,
+			98, 50, 35, 50, 96, 50, 37, 50);
+		final Path2D.Double star = polygon(Path2D.WIND_EVEN_ODD, 84, 50, 30, 60,
+			68, 28, 46, 70, 45, 28, 71, 76, 14, 33);
+		for (final OP op : OP.values()) {
+			assertSameRegion(op, star, line);
+		}
+	}
+
+	@Test
+	public void testRandomPolygons() {
+		final Random random = new Random(1);
+		for (int i = 0; i < 100; i++) {
+			final Shape shape1 = randomPolygon(random);
+			final Shape shape2 = randomPolygon(random);
+			for (final OP op : OP.values()) {
+				assertSameRegion(op, shape1, shape2);
+			}
+		}
+	}
+
+	@Test
+	public void testEngineFallback() {
+		final Shape circle = new Ellipse2D.Double(0, 0, 10, 10);
+		final Shape square = new Rectangle2D.Double(5, 5, 10, 10);
+		assertFalse(PolygonClipper.isPolygonal(circle));
+		assertTrue(PolygonClipper.isPolygonal(square));
+		assertSameRegion(area(OP.ADD, circle, square), BezierPathFunctions.op(
+			circle, square, OP.ADD, Engine.POLYGON));
+	}
+
+	@Test
+	public void testCurvedFallback() {
+		final Path2D.Double quad = new Path2D.Double();
+		quad.moveTo(0, 0);
+		quad.quadTo(20, -10, 15, 15);
+		quad.lineTo(0, 10);
+		quad.closePath();
+		final Shape circle = new Ellipse2D.Double(5, 0, 12, 12);
+		final Shape square = new Rectangle2D.Double(8, 4, 10, 10);
+
+		// NB: The clipper itself rejects curves; the engine must not hand them on.
+		try {
+			PolygonClipper.op(circle, square, OP.ADD);
+			fail("Curved segments accepted");
+		}
+		catch (final IllegalArgumentException exc) {
+			// expected
+		}
+
+		for (final OP op : OP.values()) {
+			assertSameRegion(area(op, circle, square), BezierPathFunctions.op(
+				circle, square, op, Engine.POLYGON));
+			assertSameRegion(area(op, square, quad), BezierPathFunctions.op(square,
+				quad, op, Engine.POLYGON));
+			assertSameRegion(area(op, circle, quad), BezierPathFunctions.op(circle,
+				quad, op, Engine.POLYGON));
+		}
+
+		// NB: Each of these results is a single contour, as a BezierPath needs.
+		final BezierPath path1 =
+			BezierPathFunctions.toBezierPath(circle.getPathIterator(null));
+		final BezierPath path2 =
+			BezierPathFunctions.toBezierPath(square.getPathIterator(null));
+		for (final OP op : new OP[] { OP.ADD, OP.INTERSECT, OP.SUBTRACT }) {
+			assertSameRegion(area(op, circle, square), BezierPathFunctions.op(path1,
+				path2, op, Engine.POLYGON).toGeneralPath());
+		}
+
+		final List<Shape> shapes = new ArrayList<>();
+		shapes.add(square);
+		shapes.add(circle);
+		shapes.add(quad);
+		shapes.add(new Rectangle2D.Double(-5, 5, 10, 10));
+		Area expected = new Area(shapes.get(0));
+		for (final Shape shape : shapes.subList(1, shapes.size())) {
+			expected = area(OP.ADD, expected, shape);
+		}
+		assertSameRegion(expected, BezierPathFunctions.op(shapes, OP.ADD,
+			Engine.POLYGON));
+	}
+
+	@Test
+	public void testDisjointBounds() {
+		final Shape square1 = new Rectangle2D.Double(0, 0, 10, 10);
+		final Shape square2 = new Rectangle2D.Double(20, 0, 10, 10);
+		for (final OP op : OP.values()) {
+			assertSameRegion(area(op, square1, square2), BezierPathFunctions.op(
+				square1, square2, op, Engine.POLYGON));
+		}
+	}
+
+	@Test
+	public void testTreeReduction() {
+		final Random random = new Random(2);
+		final List<Shape> shapes = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			shapes.add(randomPolygon(random));
+		}
+		for (final OP op : new OP[] { OP.ADD, OP.INTERSECT, OP.XOR }) {
+			Area expected = new Area(shapes.get(0));
+			for (final Shape shape : shapes.subList(1, shapes.size())) {
+				expected = area(op, expected, shape);
+			}
+			assertSameRegion(expected, BezierPathFunctions.op(shapes, op,
+				Engine.POLYGON));
+		}
+	}
+
+	@Test
+	public void testTreeReductionOfOneShape() {
+		final GeneralPath shape = new GeneralPath(randomPolygon(new Random(3)));
+		final GeneralPath result = BezierPathFunctions.op(Collections
+			.singletonList(shape), OP.ADD, Engine.POLYGON);
+		// NB: The result must not be the caller's own shape.
+		assertNotSame(shape, result);
+		assertSameRegion(new Area(shape), result);
+	}
+
+	// -- Helper methods --
+
+	private static void assertSameRegion(final OP op, final Shape shape1,
+		final Shape shape2)
+	{
+		assertSameRegion(area(op, shape1, shape2), PolygonClipper.op(shape1,
+			shape2, op));
+	}
+
+	private static void assertSameRegion(final Area expected,
+		final Shape actual)
+	{
+		final Rectangle2D bounds = expected.getBounds2D().createUnion(actual
+			.getBounds2D());
+		final Random random = new Random(0);
+		int mismatches = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			final double x = bounds.getX() + random.nextDouble() * bounds.getWidth();
+			final double y = bounds.getY() + random.nextDouble() * bounds
+				.getHeight();
+			if (expected.contains(x, y) != actual.contains(x, y)) mismatches++;
+		}
+		// NB: Samples falling exactly onto an edge may go either way.
+		assertTrue(mismatches + " mismatches", mismatches <= 2);
+	}
+
+	private static Area area(final OP op, final Shape shape1,
+		final Shape shape2)
+	{
+		final Area area = new Area(shape1);
+		final Area other = new Area(shape2);
+		switch (op) {
+			case ADD:
+				area.add(other);
+				break;
+			case XOR:
+				area.exclusiveOr(other);
+				break;
+			case INTERSECT:
+				area.intersect(other);
+				break;
+			case SUBTRACT:
+				area.subtract(other);
+				break;
+		}
+		return area;
+	}
+
+	private static Shape randomPolygon(final Random random) {
+		final int count = 3 + random.nextInt(30);
+		// NB: Star-shaped polygons visiting the center several times are
+		// self-intersecting, which exercises both winding rules.
+		final boolean star = random.nextBoolean();
+		final double centerX = 50 + random.nextInt(20), centerY = 50;
+		final double[] coords = new double[2 * count];
+		for (int i = 0; i < count; i++) {
+			final double angle = 2 * Math.PI * i * (star ? 3 : 1) / count;
+			final double radius = 40 * (0.5 + random.nextDouble() / 2);
+			coords[2 * i] = centerX + radius * Math.cos(angle);
+			coords[2 * i + 1] = centerY + radius * Math.sin(angle);
+		}
+		return polygon(star ? Path2D.WIND_NON_ZERO : Path2D.WIND_EVEN_ODD,
+			coords);
+	}
+
+	private static Path2D.Double polygon(final int windingRule,
+		final double... coords)
+	{
+		final Path2D.Double path = new Path2D.Double(windingRule);
+		path.moveTo(coords[0], coords[1]);
+		for (int i = 2; i < coords.length; i += 2) {
+			path.lineTo(coords[i], coords[i + 1]);
+		}
+		path.closePath();
+		return path;
+	}
+
+}
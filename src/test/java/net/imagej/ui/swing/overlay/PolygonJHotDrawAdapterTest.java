@@ -0,0 +1,180 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.geom.AffineTransform;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import net.imagej.display.OverlayView;
+import net.imagej.overlay.PolygonOverlay;
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+import net.imglib2.roi.PolygonRegionOfInterest;
+
+import org.jhotdraw.draw.BezierFigure;
+import org.jhotdraw.geom.BezierPath.Node;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+
+/**
+ * Tests the synchronization of polygon overlays and figures by
+ * {@link PolygonJHotDrawAdapter}.
+ */
+public class PolygonJHotDrawAdapterTest {
+
+	private static final double[][] SQUARE = { { 0, 0 }, { 10, 0 }, { 10, 10 },
+		{ 0, 10 } };
+
+	private Context context;
+	private PolygonJHotDrawAdapter adapter;
+	private PolygonOverlay overlay;
+	private PolygonRegionOfInterest roi;
+	private OverlayView view;
+	private BezierFigure figure;
+
+	@Before
+	public void setUp() {
+		context = new Context();
+		adapter = new PolygonJHotDrawAdapter();
+		overlay = new PolygonOverlay(context);
+		roi = overlay.getRegionOfInterest();
+		for (int i = 0; i < SQUARE.length; i++) {
+			roi.addVertex(i, new RealPoint(SQUARE[i]));
+		}
+		view = (OverlayView) Proxy.newProxyInstance(OverlayView.class
+			.getClassLoader(), new Class<?>[] { OverlayView.class },
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(final Object proxy, final Method method,
+					final Object[] args)
+				{
+					if (method.getName().equals("getData")) return overlay;
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		figure = (BezierFigure) adapter.createDefaultFigure();
+		adapter.updateFigure(view, figure);
+		assertVertices(SQUARE);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	// -- figure to overlay --
+
+	/** Dragging the figure moves all vertices by the same offset. */
+	@Test
+	public void testDragFigure() {
+		figure.willChange();
+		figure.transform(AffineTransform.getTranslateInstance(3.5, -2));
+		figure.changed();
+		adapter.updateOverlay(figure, view);
+		assertVertices(new double[][] { { 3.5, -2 }, { 13.5, -2 }, { 13.5, 8 },
+			{ 3.5, 8 } });
+	}
+
+	/** Moving one node of the figure moves only that vertex. */
+	@Test
+	public void testEditFigureNode() {
+		figure.setNode(2, new Node(12, 11));
+		adapter.updateOverlay(figure, view);
+		assertVertices(new double[][] { { 0, 0 }, { 10, 0 }, { 12, 11 },
+			{ 0, 10 } });
+	}
+
+	/** A node appended to the figure is appended to the overlay. */
+	@Test
+	public void testAppendFigureNode() {
+		figure.addNode(new Node(-2, 5));
+		adapter.updateOverlay(figure, view);
+		assertVertices(new double[][] { { 0, 0 }, { 10, 0 }, { 10, 10 },
+			{ 0, 10 }, { -2, 5 } });
+	}
+
+	// -- overlay to figure --
+
+	/** Moving the overlay moves all nodes by the same offset. */
+	@Test
+	public void testDragOverlay() {
+		roi.move(3.5, 0);
+		roi.move(-2, 1);
+		adapter.updateFigure(view, figure);
+		assertVertices(new double[][] { { 3.5, -2 }, { 13.5, -2 }, { 13.5, 8 },
+			{ 3.5, 8 } });
+	}
+
+	/** Moving one vertex of the overlay moves only that node. */
+	@Test
+	public void testEditOverlayVertex() {
+		roi.setVertexPosition(2, new double[] { 12, 11 });
+		adapter.updateFigure(view, figure);
+		assertVertices(new double[][] { { 0, 0 }, { 10, 0 }, { 12, 11 },
+			{ 0, 10 } });
+	}
+
+	/** Vertices appended to or removed from the overlay follow in the figure. */
+	@Test
+	public void testAppendOverlayVertex() {
+		roi.addVertex(4, new RealPoint(-2.0, 5.0));
+		adapter.updateFigure(view, figure);
+		assertVertices(new double[][] { { 0, 0 }, { 10, 0 }, { 10, 10 },
+			{ 0, 10 }, { -2, 5 } });
+
+		roi.removeVertex(4);
+		adapter.updateFigure(view, figure);
+		assertVertices(SQUARE);
+	}
+
+	// -- Helper methods --
+
+	/** Checks that both the overlay and the figure have the given vertices. */
+	private void assertVertices(final double[][] expected) {
+		assertEquals(expected.length, roi.getVertexCount());
+		assertEquals(expected.length, figure.getNodeCount());
+		for (int i = 0; i < expected.length; i++) {
+			final RealLocalizable vertex = roi.getVertex(i);
+			assertEquals(expected[i][0], vertex.getDoublePosition(0), 0);
+			assertEquals(expected[i][1], vertex.getDoublePosition(1), 0);
+			final Node node = figure.getNode(i);
+			assertEquals(expected[i][0], node.x[0], 0);
+			assertEquals(expected[i][1], node.y[0], 0);
+		}
+	}
+
+}
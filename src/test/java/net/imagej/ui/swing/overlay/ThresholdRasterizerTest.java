@@ -0,0 +1,221 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import net.imagej.Dataset;
+import net.imagej.DatasetService;
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imagej.overlay.ThresholdOverlay;
+import net.imglib2.RandomAccess;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.UnsignedByteType;
+import net.imglib2.type.numeric.real.FloatType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.util.ColorRGB;
+
+/**
+ * Tests {@link ThresholdRasterizer}.
+ */
+public class ThresholdRasterizerTest {
+
+	private static final int SIZE = 16;
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = new Context(DatasetService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	/** Null colors mean that values of that class are not drawn. */
+	@Test
+	public void testNullColors() {
+		final Dataset dataset = context.service(DatasetService.class).create(
+			new UnsignedByteType(), new long[] { SIZE, SIZE }, "zeros",
+			new AxisType[] { Axes.X, Axes.Y });
+		// NB: All values are 0, which is below the threshold range.
+		final ThresholdOverlay overlay = new ThresholdOverlay(context, dataset);
+		overlay.setRange(10, 20);
+		overlay.setColorLess(null);
+		overlay.setColorWithin(null);
+		overlay.setColorGreater(null);
+		final ThresholdRasterizer rasterizer =
+			new ThresholdRasterizer(dataset, overlay, null);
+
+		// nothing is drawn, also when redrawing with unchanged colors
+		assertEquals(0, draw(rasterizer) >>> 24);
+		assertEquals(0, draw(rasterizer) >>> 24);
+
+		// setting a color afterwards takes effect
+		overlay.setColorLess(new ColorRGB(255, 0, 0));
+		assertEquals(0xffff0000, draw(rasterizer));
+
+		// as does clearing it again
+		overlay.setColorLess(null);
+		assertEquals(0, draw(rasterizer) >>> 24);
+	}
+
+	/** The mask classifies each value the same way as the overlay does. */
+	@Test
+	public void testMatchesOverlayClassify() {
+		final Dataset dataset = context.service(DatasetService.class).create(
+			new FloatType(), new long[] { SIZE, SIZE }, "ramp", new AxisType[] {
+				Axes.X, Axes.Y });
+		final RandomAccess<? extends RealType<?>> access = dataset.randomAccess();
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				access.setPosition(x, 0);
+				access.setPosition(y, 1);
+				final int i = y * SIZE + x;
+				access.get().setReal(i % 7 == 0 ? Float.NaN : i);
+			}
+		}
+		final ThresholdOverlay overlay = new ThresholdOverlay(context, dataset);
+		overlay.setRange(64, 192);
+		overlay.setColorLess(new ColorRGB(255, 0, 0));
+		overlay.setColorWithin(new ColorRGB(0, 255, 0));
+		overlay.setColorGreater(new ColorRGB(0, 0, 255));
+		final ThresholdRasterizer rasterizer =
+			new ThresholdRasterizer(dataset, overlay, null);
+
+		final BufferedImage image = image(rasterizer);
+		final long[] pos = new long[2];
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				pos[0] = x;
+				pos[1] = y;
+				final int c = overlay.classify(pos);
+				final int expected = c == Integer.MAX_VALUE ? 0 : c < 0 ? 0xffff0000
+					: c > 0 ? 0xff0000ff : 0xff00ff00;
+				assertEquals("(" + x + ", " + y + ")", expected, image.getRGB(x, y));
+			}
+		}
+	}
+
+	/** Zoomed out, about one sample is classified per screen pixel. */
+	@Test
+	public void testSampleStep() {
+		assertEquals(1, step(2));
+		assertEquals(1, step(1));
+		assertEquals(2, step(0.5));
+		assertEquals(3, step(0.33));
+		assertEquals(10, step(0.1));
+	}
+
+	/** Scrolling within the margin reuses the mask; leaving it does not. */
+	@Test
+	public void testMargin() {
+		final int size = 64;
+		final Dataset dataset = context.service(DatasetService.class).create(
+			new UnsignedByteType(), new long[] { size, size }, "zeros",
+			new AxisType[] { Axes.X, Axes.Y });
+		final ThresholdOverlay overlay = new ThresholdOverlay(context, dataset);
+		overlay.setRange(10, 20);
+		overlay.setColorLess(new ColorRGB(255, 0, 0));
+		overlay.setColorGreater(new ColorRGB(0, 0, 255));
+		final ThresholdRasterizer rasterizer =
+			new ThresholdRasterizer(dataset, overlay, null);
+
+		// classifies (12, 12) - (28, 28): the clip plus half its size around it
+		final Rectangle clip = new Rectangle(16, 16, 8, 8);
+		assertEquals(0xffff0000, image(rasterizer, size, clip).getRGB(20, 20));
+
+		// NB: Without an invalidate, new values only show once reclassified.
+		fill(dataset, 255);
+		clip.setLocation(18, 18);
+		assertEquals(0xffff0000, image(rasterizer, size, clip).getRGB(20, 20));
+		clip.setLocation(40, 40);
+		assertEquals(0xff0000ff, image(rasterizer, size, clip).getRGB(44, 44));
+	}
+
+	// -- Helper methods --
+
+	private static int step(final double scale) {
+		return ThresholdRasterizer.sampleStep(AffineTransform.getScaleInstance(
+			scale, scale));
+	}
+
+	private static void fill(final Dataset dataset, final double value) {
+		final RandomAccess<? extends RealType<?>> access = dataset.randomAccess();
+		for (int y = 0; y < dataset.dimension(1); y++) {
+			for (int x = 0; x < dataset.dimension(0); x++) {
+				access.setPosition(x, 0);
+				access.setPosition(y, 1);
+				access.get().setReal(value);
+			}
+		}
+	}
+
+	/** Draws the mask onto a blank image, and gets the color of one pixel. */
+	private static int draw(final ThresholdRasterizer rasterizer) {
+		return image(rasterizer).getRGB(SIZE / 2, SIZE / 2);
+	}
+
+	/** Draws the mask onto a blank image. */
+	private static BufferedImage image(final ThresholdRasterizer rasterizer) {
+		return image(rasterizer, SIZE, null);
+	}
+
+	/** Draws the mask onto a blank image, within the given clip. */
+	private static BufferedImage image(final ThresholdRasterizer rasterizer,
+		final int size, final Rectangle clip)
+	{
+		final BufferedImage image =
+			new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D g = image.createGraphics();
+		try {
+			if (clip != null) g.setClip(clip);
+			assertTrue(rasterizer.draw(g, new long[2]));
+		}
+		finally {
+			g.dispose();
+		}
+		return image;
+	}
+
+}
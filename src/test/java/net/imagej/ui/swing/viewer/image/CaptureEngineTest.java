@@ -0,0 +1,121 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import net.imagej.Dataset;
+import net.imagej.DatasetService;
+import net.imagej.axis.Axes;
+import net.imglib2.RandomAccess;
+import net.imglib2.type.numeric.RealType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+
+/**
+ * Tests {@link CaptureEngine}.
+ */
+public class CaptureEngineTest {
+
+	/** Large enough to be split into several bands of rows. */
+	private static final int WIDTH = 300, HEIGHT = 250;
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = new Context(DatasetService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	/** Images backed by an int[] raster are read directly. */
+	@Test
+	public void testIntRGB() {
+		assertCapture(randomImage(BufferedImage.TYPE_INT_RGB));
+	}
+
+	/** Other images are read one row at a time. */
+	@Test
+	public void test3ByteBGR() {
+		assertCapture(randomImage(BufferedImage.TYPE_3BYTE_BGR));
+	}
+
+	// -- Helper methods --
+
+	private static BufferedImage randomImage(final int type) {
+		final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+		final Random random = new Random(type);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				image.setRGB(x, y, random.nextInt());
+			}
+		}
+		return image;
+	}
+
+	/** Checks the red, green and blue planes of the capture, pixel by pixel. */
+	private void assertCapture(final BufferedImage image) {
+		final Dataset dataset = CaptureEngine.toDataset(image, "capture", context
+			.service(DatasetService.class));
+		assertTrue(dataset.isRGBMerged());
+		assertEquals(3, dataset.numDimensions());
+		assertEquals(WIDTH, dataset.dimension(0));
+		assertEquals(HEIGHT, dataset.dimension(1));
+		assertEquals(3, dataset.dimension(2));
+		assertEquals(Axes.CHANNEL, dataset.axis(2).type());
+
+		final RandomAccess<? extends RealType<?>> access = dataset.randomAccess();
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				final int rgb = image.getRGB(x, y);
+				access.setPosition(x, 0);
+				access.setPosition(y, 1);
+				for (int c = 0; c < 3; c++) {
+					access.setPosition(c, 2);
+					final int expected = (rgb >> 8 * (2 - c)) & 0xff;
+					assertEquals("(" + x + ", " + y + ", " + c + ")", expected,
+						(int) access.get().getRealDouble());
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.EventQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link DisplayUpdateCoalescer}, on the event dispatch thread.
+ */
+public class DisplayUpdateCoalescerTest {
+
+	private static final int BURST = 50;
+
+	/** A burst of requests results in a single update. */
+	@Test
+	public void testBurst() throws Exception {
+		final AtomicInteger updates = new AtomicInteger();
+		final AtomicInteger offEDT = new AtomicInteger();
+		final CountDownLatch updated = new CountDownLatch(1);
+		final DisplayUpdateCoalescer coalescer =
+			new DisplayUpdateCoalescer(new Runnable() {
+
+				@Override
+				public void run() {
+					if (!EventQueue.isDispatchThread()) offEDT.incrementAndGet();
+					updates.incrementAndGet();
+					updated.countDown();
+				}
+			});
+
+		// NB: The timer cannot fire while the burst holds the EDT.
+		EventQueue.invokeAndWait(new Runnable() {
+
+			@Override
+			public void run() {
+				for (int i = 0; i < BURST; i++) {
+					coalescer.request();
+				}
+				assertEquals(0, updates.get());
+			}
+		});
+		assertTrue(updated.await(10, TimeUnit.SECONDS));
+		flushEDT();
+
+		assertEquals(1, updates.get());
+		assertEquals(0, offEDT.get());
+		assertEquals(BURST, coalescer.getRequestCount());
+		assertEquals(1, coalescer.getUpdateCount());
+		assertEquals(BURST - 1, coalescer.getDroppedCount());
+	}
+
+	/** Flushing performs a pending update at once, and only once. */
+	@Test
+	public void testFlush() throws Exception {
+		final AtomicInteger updates = new AtomicInteger();
+		final DisplayUpdateCoalescer coalescer =
+			new DisplayUpdateCoalescer(new Runnable() {
+
+				@Override
+				public void run() {
+					updates.incrementAndGet();
+				}
+			});
+
+		EventQueue.invokeAndWait(new Runnable() {
+
+			@Override
+			public void run() {
+				// nothing pending, nothing to do
+				coalescer.flush();
+				assertEquals(0, updates.get());
+
+				coalescer.request();
+				coalescer.request();
+				coalescer.flush();
+				assertEquals(1, updates.get());
+				coalescer.flush();
+				assertEquals(1, updates.get());
+
+				coalescer.request();
+				coalescer.flush();
+				assertEquals(2, updates.get());
+			}
+		});
+		// NB: Give a stray timer event the chance to cause a third update.
+		Thread.sleep(4 * DisplayUpdateCoalescer.DEFAULT_DELAY);
+		flushEDT();
+
+		assertEquals(2, updates.get());
+		assertEquals(3, coalescer.getRequestCount());
+		assertEquals(2, coalescer.getUpdateCount());
+		assertEquals(1, coalescer.getDroppedCount());
+	}
+
+	// -- Helper methods --
+
+	/** Waits for the events queued so far to be dispatched. */
+	private static void flushEDT() throws Exception {
+		EventQueue.invokeAndWait(new Runnable() {
+
+			@Override
+			public void run() {
+				// NB: No-op.
+			}
+		});
+	}
+
+}
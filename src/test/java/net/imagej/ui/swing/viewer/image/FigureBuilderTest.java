@@ -0,0 +1,183 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Shape;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.imagej.display.ImageDisplay;
+import net.imagej.display.OverlayView;
+import net.imagej.overlay.Overlay;
+import net.imagej.ui.swing.overlay.AbstractJHotDrawAdapter;
+import net.imagej.ui.swing.overlay.ConcurrentJHotDrawAdapter;
+import net.imagej.ui.swing.overlay.JHotDrawAdapter;
+import net.imagej.ui.swing.overlay.JHotDrawTool;
+
+import org.jhotdraw.draw.Figure;
+import org.jhotdraw.draw.RectangleFigure;
+import org.junit.Test;
+import org.scijava.tool.Tool;
+
+/**
+ * Tests {@link FigureBuilder}.
+ */
+public class FigureBuilderTest {
+
+	/** As many views as a canvas rebuild builds in parallel, and then some. */
+	private static final int COUNT = 300;
+
+	@Test
+	public void testEachFigureUpdatedOnce() {
+		final CountingAdapter serial = new CountingAdapter();
+		final CountingAdapter concurrent = new ConcurrentCountingAdapter();
+		final List<OverlayView> views = new ArrayList<>();
+		final List<JHotDrawAdapter<Figure>> adapters = new ArrayList<>();
+		for (int i = 0; i < COUNT; i++) {
+			views.add(createView());
+			adapters.add(i % 3 == 0 ? serial : concurrent);
+		}
+		// NB: An overlay without adapter gets no figure.
+		views.add(createView());
+		adapters.add(null);
+
+		final Figure[] figures = FigureBuilder.build(views, adapters, null);
+
+		assertEquals(views.size(), figures.length);
+		for (int i = 0; i < COUNT; i++) {
+			assertNotNull(figures[i]);
+			final CountingAdapter adapter = (CountingAdapter) adapters.get(i);
+			final OverlayView view = views.get(i);
+			assertEquals(1, adapter.count(view));
+			assertSame(figures[i], adapter.figures.get(view));
+		}
+		assertNull(figures[COUNT]);
+
+		// the figures of other adapters are built on the calling thread
+		for (final Thread thread : serial.threads.values()) {
+			assertSame(Thread.currentThread(), thread);
+		}
+	}
+
+	// -- Helper methods --
+
+	private static OverlayView createView() {
+		return (OverlayView) Proxy.newProxyInstance(OverlayView.class
+			.getClassLoader(), new Class<?>[] { OverlayView.class },
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(final Object proxy, final Method method,
+					final Object[] args)
+				{
+					// NB: The adapters below never ask the view for anything.
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+
+	// -- Helper classes --
+
+	/** Counts the figure updates of each overlay view. */
+	private static class CountingAdapter extends
+		AbstractJHotDrawAdapter<Overlay, Figure>
+	{
+
+		private final Map<OverlayView, Integer> counts =
+			Collections.synchronizedMap(new IdentityHashMap<OverlayView, Integer>());
+		private final Map<OverlayView, Figure> figures =
+			Collections.synchronizedMap(new IdentityHashMap<OverlayView, Figure>());
+		private final Map<OverlayView, Thread> threads =
+			Collections.synchronizedMap(new IdentityHashMap<OverlayView, Thread>());
+
+		public int count(final OverlayView view) {
+			final Integer count = counts.get(view);
+			return count == null ? 0 : count;
+		}
+
+		@Override
+		public Figure createDefaultFigure() {
+			return new RectangleFigure();
+		}
+
+		@Override
+		public void updateFigure(final OverlayView view, final Figure figure) {
+			synchronized (counts) {
+				counts.put(view, count(view) + 1);
+			}
+			figures.put(view, figure);
+			threads.put(view, Thread.currentThread());
+		}
+
+		@Override
+		public boolean supports(final Tool tool) {
+			return false;
+		}
+
+		@Override
+		public boolean supports(final Overlay overlay, final Figure figure) {
+			return true;
+		}
+
+		@Override
+		public Overlay createNewOverlay() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public JHotDrawTool getCreationTool(final ImageDisplay display) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Shape toShape(final Figure figure) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/** Counts the figure updates of each view, from any thread. */
+	private static class ConcurrentCountingAdapter extends CountingAdapter
+		implements ConcurrentJHotDrawAdapter<Figure>
+	{
+		// NB: No implementation needed.
+	}
+
+}
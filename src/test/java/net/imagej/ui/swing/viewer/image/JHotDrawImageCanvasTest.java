@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jhotdraw.draw.DefaultDrawing;
+import org.jhotdraw.draw.Drawing;
+import org.jhotdraw.draw.Figure;
+import org.jhotdraw.draw.QuadTreeDrawing;
+import org.jhotdraw.draw.RectangleFigure;
+import org.jhotdraw.draw.event.FigureAdapter;
+import org.jhotdraw.draw.event.FigureEvent;
+import org.junit.Test;
+
+/**
+ * Tests the switch of {@link JHotDrawImageCanvas} between a linear and a
+ * spatially indexed drawing.
+ */
+public class JHotDrawImageCanvasTest {
+
+	private static final int FIGURES = 500;
+	private static final int QUERIES = 2000;
+
+	@Test
+	public void testToSpatialIndex() {
+		assertMoveFigures(new DefaultDrawing(), new QuadTreeDrawing());
+	}
+
+	@Test
+	public void testFromSpatialIndex() {
+		assertMoveFigures(new QuadTreeDrawing(), new DefaultDrawing());
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Moves overlapping figures from one drawing to the other, checking that
+	 * they are all kept, in order, that none of them is told it was removed, so
+	 * that no overlay would be deleted, and that hit testing finds the same
+	 * figures as before.
+	 */
+	private static void assertMoveFigures(final Drawing from, final Drawing to) {
+		final Random random = new Random(1);
+		final RemovalCounter removals = new RemovalCounter();
+		for (int i = 0; i < FIGURES; i++) {
+			final Figure figure = new RectangleFigure(random.nextDouble() * 1000,
+				random.nextDouble() * 1000, 50, 50);
+			from.add(figure);
+			figure.addFigureListener(removals);
+		}
+		final List<Figure> figures = new ArrayList<>(from.getChildren());
+		final List<Point2D.Double> points = new ArrayList<>();
+		final List<Figure> hits = new ArrayList<>();
+		for (int q = 0; q < QUERIES; q++) {
+			final Point2D.Double p = new Point2D.Double(random.nextDouble() * 1050,
+				random.nextDouble() * 1050);
+			points.add(p);
+			hits.add(from.findFigure(p));
+		}
+
+		JHotDrawImageCanvas.moveFigures(from, to);
+
+		assertEquals(0, from.getChildCount());
+		assertEquals(figures, to.getChildren());
+		assertEquals(0, removals.count);
+		for (int q = 0; q < QUERIES; q++) {
+			assertSame(points.get(q).toString(), hits.get(q), to.findFigure(points
+				.get(q)));
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Counts the notifications on which {@link OverlayFigureView} would delete
+	 * its overlay.
+	 */
+	private static class RemovalCounter extends FigureAdapter {
+
+		private int count;
+
+		@Override
+		public void figureRemoved(final FigureEvent e) {
+			count++;
+		}
+
+		@Override
+		public void figureRequestRemove(final FigureEvent e) {
+			count++;
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.imagej.axis.Axes;
+import net.imagej.axis.AxisType;
+import net.imagej.display.DataView;
+import net.imagej.display.DatasetView;
+import net.imagej.display.OverlayView;
+import net.imagej.overlay.Overlay;
+
+import org.jhotdraw.draw.Figure;
+import org.junit.Test;
+
+/**
+ * Tests {@link PlaneIndex}.
+ */
+public class PlaneIndexTest {
+
+	private static final AxisType[] AXES = { Axes.Z, Axes.TIME };
+
+	/** Only the views lying on the given plane are found. */
+	@Test
+	public void testCollect() {
+		final TestView a = overlayView(0, 0);
+		final TestView b = overlayView(1, 0);
+		final TestView c = overlayView(-1, 1, Axes.Z);
+		final TestView d = overlayView(-1, -1, Axes.Z, Axes.TIME);
+		final TestView e = datasetView();
+		final PlaneIndex index = new PlaneIndex();
+		index.rebuild(Arrays.<FigureView> asList(a, b, c, d, e), AXES);
+
+		assertEquals(set(a, d), collect(index, 0, 0));
+		assertEquals(set(b, d), collect(index, 1, 0));
+		assertEquals(set(c, d), collect(index, 5, 1));
+		assertEquals(set(d), collect(index, 0, 2));
+		assertEquals(Collections.singletonList(e), index.others());
+	}
+
+	/** A view whose overlay moved is found on its new plane only. */
+	@Test
+	public void testReindex() {
+		final TestView a = overlayView(0, 0);
+		final TestView b = overlayView(1, 0);
+		final PlaneIndex index = new PlaneIndex();
+		index.rebuild(Arrays.<FigureView> asList(a, b), AXES);
+
+		a.position.put(Axes.Z, 1L);
+		index.reindex(a);
+		assertEquals(set(), collect(index, 0, 0));
+		assertEquals(set(a, b), collect(index, 1, 0));
+
+		// NB: Reindexing a view which has not moved changes nothing.
+		index.reindex(b);
+		assertEquals(set(a, b), collect(index, 1, 0));
+
+		// views which are not indexed are ignored
+		index.reindex(overlayView(0, 0));
+		assertEquals(set(), collect(index, 0, 0));
+	}
+
+	/** The index is only valid for the axes it was built for. */
+	@Test
+	public void testValidity() {
+		final PlaneIndex index = new PlaneIndex();
+		assertFalse(index.isValid(AXES));
+
+		index.rebuild(Arrays.<FigureView> asList(overlayView(0, 0)), AXES);
+		assertTrue(index.isValid(AXES));
+		assertTrue(index.isValid(new AxisType[] { Axes.Z, Axes.TIME }));
+		assertFalse(index.isValid(new AxisType[] { Axes.Z }));
+		assertFalse(index.isValid(new AxisType[] { Axes.TIME, Axes.Z }));
+		assertFalse(index.isValid(new AxisType[] { Axes.Z, Axes.TIME,
+			Axes.CHANNEL }));
+
+		index.invalidate();
+		assertFalse(index.isValid(AXES));
+		index.rebuild(Arrays.<FigureView> asList(overlayView(0, 0)), AXES);
+		assertTrue(index.isValid(AXES));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Creates a view of an overlay at the given Z and time positions, which
+	 * spans the given axes.
+	 */
+	private static TestView overlayView(final long z, final long t,
+		final AxisType... spanned)
+	{
+		final List<AxisType> axes = Arrays.asList(spanned);
+		final Overlay overlay = proxy(Overlay.class, new InvocationHandler() {
+
+			@Override
+			public Object invoke(final Object proxy, final Method method,
+				final Object[] args)
+			{
+				if (method.getName().equals("dimensionIndex")) {
+					return axes.indexOf(args[0]);
+				}
+				return objectMethod(proxy, method, args);
+			}
+		});
+		final TestView view = new TestView();
+		view.position.put(Axes.Z, z);
+		view.position.put(Axes.TIME, t);
+		view.dataView = proxy(OverlayView.class, new InvocationHandler() {
+
+			@Override
+			public Object invoke(final Object proxy, final Method method,
+				final Object[] args)
+			{
+				if (method.getName().equals("getData")) return overlay;
+				if (method.getName().equals("getLongPosition") &&
+					args[0] instanceof AxisType)
+				{
+					return view.position.get(args[0]);
+				}
+				return objectMethod(proxy, method, args);
+			}
+		});
+		return view;
+	}
+
+	/** Creates a view of something other than an overlay. */
+	private static TestView datasetView() {
+		final TestView view = new TestView();
+		view.dataView = proxy(DatasetView.class, new InvocationHandler() {
+
+			@Override
+			public Object invoke(final Object proxy, final Method method,
+				final Object[] args)
+			{
+				return objectMethod(proxy, method, args);
+			}
+		});
+		return view;
+	}
+
+	private static <T> T proxy(final Class<T> type,
+		final InvocationHandler handler)
+	{
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+			new Class<?>[] { type }, handler));
+	}
+
+	/** Answers the methods of {@link Object}; fails for any other method. */
+	private static Object objectMethod(final Object proxy, final Method method,
+		final Object[] args)
+	{
+		final String name = method.getName();
+		if (name.equals("equals")) return proxy == args[0];
+		if (name.equals("hashCode")) return System.identityHashCode(proxy);
+		if (name.equals("toString")) return "proxy";
+		throw new UnsupportedOperationException(name);
+	}
+
+	private static Set<FigureView> collect(final PlaneIndex index,
+		final long... plane)
+	{
+		final Set<FigureView> result = new HashSet<>();
+		index.collect(plane, result);
+		return result;
+	}
+
+	private static Set<FigureView> set(final FigureView... views) {
+		return new HashSet<>(Arrays.asList(views));
+	}
+
+	// -- Helper classes --
+
+	/** A figure view whose overlay position can be changed at will. */
+	private static class TestView implements FigureView {
+
+		private final Map<AxisType, Long> position = new HashMap<>();
+		private DataView dataView;
+
+		@Override
+		public Figure getFigure() {
+			return null;
+		}
+
+		@Override
+		public DataView getDataView() {
+			return dataView;
+		}
+
+		@Override
+		public void update() {
+			// NB: No-op.
+		}
+
+		@Override
+		public void dispose() {
+			// NB: No-op.
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link RedrawScheduler}.
+ */
+public class RedrawSchedulerTest {
+
+	private static final int REQUESTS = 20;
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = new Context(ThreadService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	/** Superseded requests are skipped; only the latest reaches the EDT. */
+	@Test
+	public void testLatestOnly() throws Exception {
+		final CountDownLatch requested = new CountDownLatch(1);
+		final CountDownLatch updated = new CountDownLatch(1);
+		final List<Long> projected =
+			Collections.synchronizedList(new ArrayList<Long>());
+		final List<Boolean> onEDT =
+			Collections.synchronizedList(new ArrayList<Boolean>());
+		final RedrawScheduler[] scheduler = new RedrawScheduler[1];
+		scheduler[0] = new RedrawScheduler(context.service(ThreadService.class),
+			new RedrawScheduler.Projection() {
+
+				@Override
+				public boolean project(final long request) {
+					// NB: Hold every projection until all requests are made.
+					try {
+						requested.await();
+					}
+					catch (final InterruptedException exc) {
+						throw new IllegalStateException(exc);
+					}
+					synchronized (this) {
+						if (!scheduler[0].isLatest(request)) return false;
+						projected.add(request);
+						return true;
+					}
+				}
+			}, new Runnable() {
+
+				@Override
+				public void run() {
+					onEDT.add(EventQueue.isDispatchThread());
+					updated.countDown();
+				}
+			});
+
+		for (int i = 0; i < REQUESTS; i++) {
+			scheduler[0].redrawLater();
+		}
+		requested.countDown();
+		assertTrue(updated.await(10, TimeUnit.SECONDS));
+
+		// let any straggling projections and updates run their course
+		context.service(ThreadService.class).getExecutorService().shutdown();
+		assertTrue(context.service(ThreadService.class).getExecutorService()
+			.awaitTermination(10, TimeUnit.SECONDS));
+		EventQueue.invokeAndWait(new Runnable() {
+
+			@Override
+			public void run() {
+				// NB: No-op.
+			}
+		});
+
+		assertEquals(Collections.singletonList((long) REQUESTS), projected);
+		assertEquals(Collections.singletonList(true), onEDT);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jhotdraw.draw.DefaultDrawing;
+import org.jhotdraw.draw.Drawing;
+import org.jhotdraw.draw.Figure;
+import org.jhotdraw.draw.QuadTreeDrawing;
+import org.jhotdraw.draw.RectangleFigure;
+
+/**
+ * Compares the linear {@link DefaultDrawing} against the spatially indexed
+ * {@link QuadTreeDrawing} used by {@link JHotDrawImageCanvas} when
+ * {@link JHotDrawImageCanvas#setSpatialIndex(boolean)} is enabled. Runs
+ * headless; prints the average time per hit test, clipped repaint and
+ * rubber-band selection for 10^3 up to 10^5 nucleus-sized figures.
+ * <p>
+ * This is a manual tool, run via its {@code main} method. It is not meant to
+ * be run unattendedly, ie. with JUnit; see {@link JHotDrawImageCanvasTest}
+ * for the tests of the switch between the two drawings.
+ * </p>
+ */
+public class SpatialDrawingBenchmark {
+
+	private static final double PLANE_SIZE = 20000;
+	private static final double FIGURE_SIZE = 20;
+	private static final double VIEW_SIZE = 1000;
+	private static final int QUERIES = 200;
+
+	public static void main(final String... args) {
+		for (int count = 1000; count <= 100000; count *= 10) {
+			benchmark("DefaultDrawing", new DefaultDrawing(), createFigures(count));
+			benchmark("QuadTreeDrawing", new QuadTreeDrawing(), createFigures(count));
+		}
+	}
+
+	private static List<Figure> createFigures(final int count) {
+		final Random random = new Random(count);
+		final List<Figure> figures = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final double x = random.nextDouble() * (PLANE_SIZE - FIGURE_SIZE);
+			final double y = random.nextDouble() * (PLANE_SIZE - FIGURE_SIZE);
+			figures.add(new RectangleFigure(x, y, FIGURE_SIZE, FIGURE_SIZE));
+		}
+		return figures;
+	}
+
+	private static void benchmark(final String name, final Drawing drawing,
+		final List<Figure> figures)
+	{
+		long start = System.nanoTime();
+		for (final Figure figure : figures) {
+			drawing.add(figure);
+		}
+		final long addTime = System.nanoTime() - start;
+
+		final Random random = new Random(0);
+		final Point2D.Double[] points = new Point2D.Double[QUERIES];
+		final Rectangle2D.Double[] views = new Rectangle2D.Double[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			points[i] = new Point2D.Double(random.nextDouble() * PLANE_SIZE, random
+				.nextDouble() * PLANE_SIZE);
+			views[i] = new Rectangle2D.Double(random.nextDouble() *
+				(PLANE_SIZE - VIEW_SIZE), random.nextDouble() * (PLANE_SIZE -
+					VIEW_SIZE), VIEW_SIZE, VIEW_SIZE);
+		}
+
+		// hit testing
+		start = System.nanoTime();
+		int hits = 0;
+		for (final Point2D.Double p : points) {
+			if (drawing.findFigure(p) != null) hits++;
+		}
+		final long findTime = System.nanoTime() - start;
+
+		// rubber-band selection
+		start = System.nanoTime();
+		int selected = 0;
+		for (final Rectangle2D.Double view : views) {
+			selected += drawing.findFiguresWithin(view).size();
+		}
+		final long selectTime = System.nanoTime() - start;
+
+		// clipped painting of a viewport-sized region
+		final BufferedImage image = new BufferedImage((int) VIEW_SIZE,
+			(int) VIEW_SIZE, BufferedImage.TYPE_INT_ARGB);
+		start = System.nanoTime();
+		for (final Rectangle2D.Double view : views) {
+			final Graphics2D g = image.createGraphics();
+			g.translate(-view.x, -view.y);
+			g.clip(view);
+			drawing.draw(g);
+			g.dispose();
+		}
+		final long drawTime = System.nanoTime() - start;
+
+		System.out.println(String.format(
+			"%-16s n=%6d  add %8.2f ms  find %8.4f ms  select %8.4f ms  " +
+				"draw %8.4f ms  (%d hits, %d selected)", name, figures.size(),
+			addTime / 1e6, findTime / 1e6 / QUERIES, selectTime / 1e6 / QUERIES,
+			drawTime / 1e6 / QUERIES, hits, selected));
+	}
+
+}
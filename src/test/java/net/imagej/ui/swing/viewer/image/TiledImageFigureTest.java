@@ -0,0 +1,142 @@
+/*
+ * #%L
+ * ImageJ software for multidimensional image processing and analysis.
+ * %%
+ * Copyright (C) 2009 - 2025 ImageJ developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package net.imagej.ui.swing.viewer.image;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TiledImageFigure}.
+ */
+public class TiledImageFigureTest {
+
+	private static final int TILE_SIZE = 64;
+
+	private static final int BACKGROUND = 0xff00ff;
+
+	private final BufferedImage image = randomImage(600, 500);
+
+	@Test
+	public void testClip() {
+		final Rectangle2D.Double bounds = new Rectangle2D.Double(0, 0, 600, 500);
+		// NB: Spans tile seams in both directions.
+		assertTiles(bounds, new Rectangle(100, 50, 70, 90), null);
+		assertTiles(bounds, new Rectangle(0, 0, 1, 1), null);
+		assertTiles(bounds, new Rectangle(590, 430, 50, 50), null);
+	}
+
+	@Test
+	public void testScaledClip() {
+		final Rectangle2D.Double bounds =
+			new Rectangle2D.Double(10, 20, 1200, 1000);
+		assertTiles(bounds, new Rectangle(250, 120, 110, 150), null);
+		assertTiles(bounds, new Rectangle(5, 5, 40, 40), null);
+	}
+
+	@Test
+	public void testViewport() {
+		final Rectangle2D.Double bounds = new Rectangle2D.Double(0, 0, 600, 500);
+		assertTiles(bounds, new Rectangle(100, 50, 200, 200),
+			new Rectangle2D.Double(150, 80, 30, 40));
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Checks that drawing the tiles with the given clip, and optional viewport,
+	 * yields the same pixels inside the visible area as drawing the whole image
+	 * at once, and leaves everything outside the clip untouched.
+	 */
+	private void assertTiles(final Rectangle2D.Double bounds,
+		final Rectangle clip, final Rectangle2D viewport)
+	{
+		final int width = (int) bounds.getMaxX() + 20;
+		final int height = (int) bounds.getMaxY() + 20;
+
+		final BufferedImage expected = canvas(width, height);
+		final Graphics2D ge = expected.createGraphics();
+		ge.drawImage(image, (int) bounds.x, (int) bounds.y, (int) bounds.width,
+			(int) bounds.height, null);
+		ge.dispose();
+
+		final BufferedImage actual = canvas(width, height);
+		final Graphics2D ga = actual.createGraphics();
+		ga.clip(clip);
+		TiledImageFigure.drawTiles(ga, image, bounds, viewport, TILE_SIZE,
+			new Rectangle());
+		ga.dispose();
+
+		final Rectangle2D visible =
+			viewport == null ? clip : clip.createIntersection(viewport);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int pixel = actual.getRGB(x, y) & 0xffffff;
+				if (!clip.contains(x, y)) {
+					assertEquals("(" + x + ", " + y + ")", BACKGROUND, pixel);
+				}
+				else if (visible.contains(x + 0.5, y + 0.5)) {
+					assertEquals("(" + x + ", " + y + ")",
+						expected.getRGB(x, y) & 0xffffff, pixel);
+				}
+			}
+		}
+	}
+
+	private static BufferedImage canvas(final int width, final int height) {
+		final BufferedImage canvas =
+			new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D g = canvas.createGraphics();
+		g.setColor(new Color(BACKGROUND));
+		g.fillRect(0, 0, width, height);
+		g.dispose();
+		return canvas;
+	}
+
+	private static BufferedImage randomImage(final int width, final int height) {
+		final BufferedImage image =
+			new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final Random random = new Random(0);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, random.nextInt(0x1000000));
+			}
+		}
+		return image;
+	}
+
+}